@@ -0,0 +1,7 @@
+module BFSPuzzleSolver.gui {
+    requires transitive javafx.controls;
+    requires BFSPuzzleSolver;
+    exports puzzles.common.gui;
+    exports puzzles.chess.gui;
+    exports puzzles.hoppers.gui;
+}
\ No newline at end of file
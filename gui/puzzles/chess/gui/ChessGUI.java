@@ -0,0 +1,208 @@
+package puzzles.chess.gui;
+import javafx.application.Application;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.BackgroundFill;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.CornerRadii;
+import javafx.scene.layout.HBox;
+import javafx.scene.paint.Color;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import javafx.stage.Stage;
+import puzzles.chess.model.ChessConfig;
+import puzzles.chess.model.ChessEvent;
+import puzzles.chess.model.ChessModel;
+import puzzles.common.Coordinates;
+import puzzles.common.Observer;
+import puzzles.common.gui.BoardView;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+
+/**
+ * The GUI of the Chess Solitaire puzzle
+ *
+ * @author Daniel Baek
+ */
+public class ChessGUI extends Application implements Observer<ChessModel, ChessEvent> {
+    /** The size of all icons, in square dimension */
+    private final static int ICON_SIZE = 75;
+    /** the font size for labels and buttons */
+    private final static int FONT_SIZE = 12;
+    /** The resources directory is located directly underneath the gui package */
+    private final static String RESOURCES_DIR = "resources/";
+    /** The backgrounds of the light and dark squares */
+    private final static Background LIGHT = new Background(new BackgroundFill(Color.WHITE, CornerRadii.EMPTY, Insets.EMPTY));
+    private final static Background DARK = new Background(new BackgroundFill(Color.MIDNIGHTBLUE, CornerRadii.EMPTY, Insets.EMPTY));
+    private final Image king = BoardView.image(ChessGUI.class, RESOURCES_DIR + "king.png");
+    private final Image queen = BoardView.image(ChessGUI.class, RESOURCES_DIR + "queen.png");
+    private final Image knight = BoardView.image(ChessGUI.class, RESOURCES_DIR + "knight.png");
+    private final Image bishop = BoardView.image(ChessGUI.class, RESOURCES_DIR + "bishop.png");
+    private final Image rook = BoardView.image(ChessGUI.class, RESOURCES_DIR + "rook.png");
+    private final Image pawn = BoardView.image(ChessGUI.class, RESOURCES_DIR + "pawn.png");
+    private ChessModel model;
+    private Label message;
+    /** The file last asked to be loaded, shown if it fails to load */
+    private String fileName;
+    private Stage stage;
+    private BorderPane borderPane;
+    /** The board, only the squares that changed are redrawn */
+    private BoardView board;
+    private Button hint;
+    /**
+     * Initializes the model
+     */
+    public void init() {
+        this.fileName = getParameters().getRaw().get(0);
+        try {
+            this.model = new ChessModel(this.fileName);
+            this.model.addObserver(this);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+    /**
+     * Creates the different elements of the GUI
+     *
+     * @param stage the primary stage for this application, onto which
+     * the application scene can be set.
+     */
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+        this.borderPane = new BorderPane();
+        this.message = new Label("Loaded: " + new File(this.fileName).getName());
+        this.message.fontProperty().setValue(new Font(FONT_SIZE));
+        this.message.setAlignment(Pos.TOP_CENTER);
+        this.borderPane.setTop(this.message);
+
+        this.board = new BoardView(ICON_SIZE, this::imageFor, this.model::select);
+        this.board.setShading(LIGHT, DARK);
+        ChessConfig config = this.model.getCurrentConfig();
+        this.board.show(config.getRowDIM(), config.getColDIM(), config::getCell);
+        this.board.getGrid().setAlignment(Pos.CENTER);
+        this.borderPane.setCenter(this.board.getGrid());
+
+        HBox buttons = makeButtons();
+        buttons.setAlignment(Pos.BOTTOM_CENTER);
+        this.borderPane.setBottom(buttons);
+
+        this.stage.setScene(new Scene(this.borderPane));
+        this.stage.setTitle("Chess GUI");
+        this.stage.show();
+    }
+    /**
+     * Makes the bottom buttons (LOAD, RESET, HINT)
+     *
+     * @return buttons
+     */
+    public HBox makeButtons() {
+        HBox buttons = new HBox();
+        Button load = new Button("Load");
+        load.setOnMouseClicked(event -> {
+            FileChooser chooser = new FileChooser();
+            String currentPath = Paths.get(".").toAbsolutePath().normalize().toString();
+            currentPath += File.separator + "data" + File.separator + "chess";
+            chooser.setInitialDirectory(new File(currentPath));
+            File file = chooser.showOpenDialog(this.stage);
+            if (file != null) {
+                this.fileName = file.getPath();
+                this.model.load(this.fileName);
+            }
+        });
+        Button reset = new Button("Reset");
+        reset.setOnMouseClicked(e -> this.model.reset());
+        this.hint = new Button("Hint");
+        this.hint.setOnMouseClicked(e -> requestHint());
+        buttons.getChildren().add(load);
+        buttons.getChildren().add(reset);
+        buttons.getChildren().add(this.hint);
+        return buttons;
+    }
+    /**
+     * Searches for a hint off the JavaFX thread so the window keeps responding, and makes its
+     * capture once it is found. A hint for a board that changed while it was searched for is
+     * dropped and searched for again.
+     */
+    private void requestHint() {
+        this.hint.setDisable(true);
+        this.message.setText("Finding hint...");
+        ChessConfig start = this.model.getCurrentConfig();
+        BoardView.runInBackground(() -> ChessModel.findHint(start), found -> {
+            if (this.model.applyHint(found)) {
+                this.hint.setDisable(false);
+            } else {
+                requestHint();
+            }
+        });
+    }
+    /**
+     * Gets the image for a square
+     *
+     * @param cell = piece on the square
+     * @return image, null for an empty square
+     */
+    private Image imageFor(char cell) {
+        return switch (cell) {
+            case ChessConfig.KING -> king;
+            case ChessConfig.QUEEN -> queen;
+            case ChessConfig.KNIGHT -> knight;
+            case ChessConfig.BISHOP -> bishop;
+            case ChessConfig.ROOK -> rook;
+            case ChessConfig.PAWN -> pawn;
+            default -> null;
+        };
+    }
+    /**
+     * Gets the text of a square
+     *
+     * @param square = square
+     * @return (row, col)
+     */
+    private static String square(Coordinates square) {
+        return "(" + square.row() + ", " + square.col() + ")";
+    }
+    /**
+     * Updates the GUI with what happened, redrawing only the squares that changed
+     *
+     * @param chessModel the object that wishes to inform this object
+     *                about something that has happened.
+     * @param event what happened, with the squares it was about
+     */
+    @Override
+    public void update(ChessModel chessModel, ChessEvent event) {
+        switch (event.kind()) {
+            case LOADED -> this.message.setText("Loaded: " + new File(chessModel.getFileName()).getName());
+            case LOAD_FAIL -> this.message.setText("Failed to load: " + this.fileName);
+            case RESET -> this.message.setText("Puzzle reset!");
+            case SELECTED -> this.message.setText("Selected " + square(event.from()));
+            case INVALID_SELECTION -> this.message.setText("Invalid selection " + square(event.from()));
+            case CAPTURED -> this.message.setText("Captured from " + square(event.from()) + " to " + square(event.to()));
+            case ILLEGAL -> this.message.setText("Can't capture from " + square(event.from()) + " to " + square(event.to()));
+            case HINT -> this.message.setText("Next step!");
+            case SOLVED -> this.message.setText("Already solved!");
+            case NO_SOLUTION -> this.message.setText("No solution!");
+        }
+        ChessConfig config = chessModel.getCurrentConfig();
+        if (event.isFullUpdate()) {
+            if (this.board.show(config.getRowDIM(), config.getColDIM(), config::getCell)) {
+                this.stage.sizeToScene();  // when a different sized puzzle is loaded
+            }
+        } else {
+            this.board.update(config::getCell, event.changed());
+        }
+    }
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: java ChessGUI filename");
+        } else {
+            Application.launch(args);
+        }
+    }
+}
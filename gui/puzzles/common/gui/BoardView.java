@@ -0,0 +1,200 @@
+package puzzles.common.gui;
+
+import javafx.application.Platform;
+import javafx.scene.control.Button;
+import javafx.scene.image.Image;
+import javafx.scene.image.ImageView;
+import javafx.scene.layout.Background;
+import javafx.scene.layout.GridPane;
+import puzzles.common.Coordinates;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * A grid of square buttons showing a puzzle board, shared by the puzzle GUIs. The buttons are
+ * made once per board size and only the images of cells whose value changed are swapped on
+ * later updates, so a move redraws a few cells instead of the whole board. Images are read once
+ * and shared by every view.
+ *
+ * @author Daniel Baek
+ */
+public class BoardView {
+    /**
+     * Gets the value of a cell of the board being shown
+     */
+    @FunctionalInterface
+    public interface Cells {
+        char getCell(int row, int col);
+    }
+
+    /**
+     * Handles a click on a cell
+     */
+    @FunctionalInterface
+    public interface ClickHandler {
+        void clicked(int row, int col);
+    }
+
+    /** every image read so far, by the resource it was read from */
+    private final static Map<String, Image> IMAGES = new ConcurrentHashMap<>();
+    /** the size of every cell, in square dimension */
+    private final int iconSize;
+    /** the image of a cell value, null for a blank cell */
+    private final Function<Character, Image> images;
+    private final ClickHandler handler;
+    private final GridPane grid = new GridPane();
+    /** backgrounds of the cells whose row and col add up to an even and odd number, null for none */
+    private Background even;
+    private Background odd;
+    /** the image of every cell in the grid */
+    private ImageView[][] views = new ImageView[0][0];
+    /** the value every cell is showing */
+    private char[][] shown = new char[0][0];
+
+    /**
+     * Creates an empty view, show fills it
+     *
+     * @param iconSize = size of every cell
+     * @param images = image of each cell value, null for a blank cell
+     * @param handler = called when a cell is clicked
+     */
+    public BoardView(int iconSize, Function<Character, Image> images, ClickHandler handler) {
+        this.iconSize = iconSize;
+        this.images = images;
+        this.handler = handler;
+    }
+
+    /**
+     * Gets an image from the resources of a class, reading it only the first time it is asked for
+     *
+     * @param owner = class the resource is next to
+     * @param resource = name of the resource relative to the class
+     * @return image
+     */
+    public static Image image(Class<?> owner, String resource) {
+        return IMAGES.computeIfAbsent(owner.getPackageName() + "/" + resource,
+                key -> new Image(Objects.requireNonNull(owner.getResourceAsStream(resource))));
+    }
+
+    /**
+     * Runs slow work, such as searching for a hint, off the JavaFX thread so the window keeps
+     * responding, then hands its result back on the JavaFX thread
+     *
+     * @param work = work to run, must not touch the scene or the model
+     * @param done = called on the JavaFX thread with the result of the work
+     * @param <T> = type of the result
+     */
+    public static <T> void runInBackground(Supplier<T> work, Consumer<T> done) {
+        Thread worker = new Thread(() -> {
+            T result = work.get();
+            Platform.runLater(() -> done.accept(result));
+        }, "board-view-worker");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    /**
+     * Colors the cells like a checkerboard, used by cells made after this call
+     *
+     * @param even = background of cells whose row and col add up to an even number
+     * @param odd = background of the other cells
+     */
+    public void setShading(Background even, Background odd) {
+        this.even = even;
+        this.odd = odd;
+    }
+
+    /**
+     * Gets the grid to put in the scene
+     *
+     * @return this.grid
+     */
+    public GridPane getGrid() {
+        return this.grid;
+    }
+
+    /**
+     * Shows a whole board. Cells showing the same value keep their image, and the grid is only
+     * rebuilt when the board has a different size.
+     *
+     * @param rows = number of rows
+     * @param cols = number of cols
+     * @param cells = the board
+     * @return True if the grid was rebuilt and the window may need resizing, false otherwise
+     */
+    public boolean show(int rows, int cols, Cells cells) {
+        if (rows != this.views.length || (rows > 0 && cols != this.views[0].length)) {
+            build(rows, cols, cells);
+            return true;
+        }
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                set(row, col, cells.getCell(row, col));
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Shows only the given cells of a board the same size as the one shown
+     *
+     * @param cells = the board
+     * @param changed = cells that may have changed
+     */
+    public void update(Cells cells, Iterable<Coordinates> changed) {
+        for (Coordinates cell : changed) {
+            set(cell.row(), cell.col(), cells.getCell(cell.row(), cell.col()));
+        }
+    }
+
+    /**
+     * Swaps the image of a cell if its value changed
+     *
+     * @param row = row of the cell
+     * @param col = col of the cell
+     * @param value = value to show
+     */
+    private void set(int row, int col, char value) {
+        if (this.shown[row][col] != value) {
+            this.shown[row][col] = value;
+            this.views[row][col].setImage(this.images.apply(value));
+        }
+    }
+
+    /**
+     * Makes one button per cell
+     *
+     * @param rows = number of rows
+     * @param cols = number of cols
+     * @param cells = the board
+     */
+    private void build(int rows, int cols, Cells cells) {
+        this.grid.getChildren().clear();
+        this.views = new ImageView[rows][cols];
+        this.shown = new char[rows][cols];
+        for (int row = 0; row < rows; row++) {
+            for (int col = 0; col < cols; col++) {
+                char value = cells.getCell(row, col);
+                ImageView view = new ImageView(this.images.apply(value));
+                Button button = new Button();
+                button.setGraphic(view);
+                button.setMinSize(this.iconSize, this.iconSize);
+                button.setMaxSize(this.iconSize, this.iconSize);
+                if (this.even != null) {
+                    button.setBackground((row + col) % 2 == 0 ? this.even : this.odd);
+                }
+                int r = row;
+                int c = col;
+                button.setOnAction(e -> this.handler.clicked(r, c));
+                this.views[row][col] = view;
+                this.shown[row][col] = value;
+                this.grid.add(button, col, row);
+            }
+        }
+    }
+}
@@ -0,0 +1,381 @@
+package puzzles.hoppers.gui;
+import javafx.animation.Animation;
+import javafx.animation.AnimationTimer;
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.image.Image;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.text.Font;
+import javafx.stage.FileChooser;
+import puzzles.common.Coordinates;
+import puzzles.common.Observer;
+import puzzles.common.gui.BoardView;
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.hoppers.model.HoppersEvent;
+import puzzles.hoppers.model.HoppersModel;
+import javafx.application.Application;
+import javafx.stage.Stage;
+import javafx.util.Duration;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The GUI of the Hoppers puzzle
+ *
+ * @author Daniel Baek
+ */
+public class HoppersGUI extends Application implements Observer<HoppersModel, HoppersEvent> {
+    /** The size of all icons, in square dimension */
+    private final static int ICON_SIZE = 75;
+    /** the font size for labels and buttons */
+    private final static int FONT_SIZE = 12;
+
+    /** The resources directory is located directly underneath the gui package */
+    private final static String RESOURCES_DIR = "resources/";
+    /** Milliseconds between moves when playing a solution at normal speed */
+    private final static int PLAY_DELAY = 500;
+    /** The slowest and fastest playback rates */
+    private final static double MIN_RATE = 0.25;
+    private final static double MAX_RATE = 32;
+    private Label message;
+    private String fileName;
+    private HoppersModel model;
+    private int initialRow = -1;
+    private int initialCol = -1;
+    private int finalRow = -1;
+    private int finalCol = -1;
+    /** the board the frog was selected on, a selection made on an older board is dropped */
+    private HoppersConfig selectedOn;
+    /** the squares of the last jump tried, shown once the model reports it */
+    private String jump;
+    private final Image redFrog = BoardView.image(HoppersGUI.class, RESOURCES_DIR + "red_frog.png");
+    private final Image greenFrog = BoardView.image(HoppersGUI.class, RESOURCES_DIR + "green_frog.png");
+    private final Image lilyPad = BoardView.image(HoppersGUI.class, RESOURCES_DIR + "lily_pad.png");
+    private final Image water = BoardView.image(HoppersGUI.class, RESOURCES_DIR + "water.png");
+    private Stage stage;
+    private BorderPane borderPane;
+    /** The board, only the cells that changed are redrawn */
+    private BoardView puzzle;
+    private HBox buttons;
+    private Button hint;
+    private Scene scene;
+    /** Plays the solution one move per key frame */
+    private Timeline playback;
+    private Button play;
+    private Button step;
+    /**
+     * Initializes the basis of the GUI
+     */
+    public void init() {
+        this.fileName = getParameters().getRaw().get(0);
+        try {
+            this.model = new HoppersModel(this.fileName);
+            this.model.addObserver(this);
+        } catch (IOException ignore) {
+        }
+    }
+    /**
+     * Creates the different elements of the GUI
+     *
+     * @param stage the primary stage for this application, onto which
+     * the application scene can be set.
+     * Applications may create other stages, if needed, but they will not be
+     * primary stages.
+     */
+    @Override
+    public void start(Stage stage) {
+        this.stage = stage;
+        this.borderPane = new BorderPane();
+        this.message = new Label("Loaded: " + this.fileName);
+        this.message.fontProperty().setValue(new Font(FONT_SIZE));
+        this.borderPane.setTop(this.message);
+        this.message.setAlignment(Pos.TOP_CENTER);
+
+        this.puzzle = new BoardView(ICON_SIZE, this::imageFor, this::clicked);
+        HoppersConfig config = this.model.getCurrentConfig();
+        this.puzzle.show(config.getRowDIM(), config.getColDIM(), config::getCell);
+        this.puzzle.getGrid().setAlignment(Pos.CENTER);
+        this.borderPane.setCenter(this.puzzle.getGrid());
+
+        this.playback = new Timeline(new KeyFrame(Duration.millis(PLAY_DELAY), e -> {
+            if (this.model.isPlaying()) {
+                this.model.step();
+            } else {
+                // the board changed, playing on would solve again on the JavaFX thread
+                pause();
+            }
+        }));
+        this.playback.setCycleCount(Animation.INDEFINITE);
+        // the model holds its events and they are drawn once per frame
+        this.model.setCoalescing(true);
+        new AnimationTimer() {
+            @Override
+            public void handle(long now) {
+                model.flushEvents();
+            }
+        }.start();
+
+        this.buttons = makeButtons();
+        this.borderPane.setBottom(this.buttons);
+        this.buttons.setAlignment(Pos.BOTTOM_CENTER);
+
+        this.scene = new Scene(this.borderPane);
+        this.stage.setScene(scene);
+        this.stage.setTitle("Hoppers GUI");
+        this.stage.show();
+    }
+    /**
+     * Makes the bottom buttons (LOAD, RESET, HINT) and the solution playback controls
+     *
+     * @return buttons
+     */
+    public HBox makeButtons() {
+        HBox buttons = new HBox();
+        Button load = new Button();
+        load.setText("Load");
+            load.setOnMouseClicked(event -> {
+                FileChooser chooser = new FileChooser();
+                String currentPath = Paths.get(".").toAbsolutePath().normalize().toString();
+                currentPath += File.separator + "data" + File.separator + "hoppers";  // or "hoppers"
+                chooser.setInitialDirectory(new File(currentPath));
+                File file = chooser.showOpenDialog(this.stage);
+                if (file != null) {
+                    this.fileName = "data/hoppers/" + file.getName();
+                    this.model.load(this.fileName);
+                }
+            });
+        Button reset = new Button();
+        reset.setText("Reset");
+            reset.setOnMouseClicked(e -> this.model.reset(this.fileName));
+        this.hint = new Button();
+        this.hint.setText("Hint");
+            this.hint.setOnMouseClicked(e -> requestHint());
+        this.play = new Button();
+        this.play.setText("Play");
+            this.play.setOnMouseClicked(e -> {
+                if (this.playback.getStatus() == Animation.Status.RUNNING) {
+                    pause();
+                } else {
+                    whenSolved(() -> {
+                        this.play.setText("Pause");
+                        this.playback.play();
+                    });
+                }
+            });
+        this.step = new Button();
+        this.step.setText("Step");
+            this.step.setOnMouseClicked(e -> {
+                pause();
+                whenSolved(this.model::step);
+            });
+        Button slower = new Button();
+        slower.setText("Slower");
+            slower.setOnMouseClicked(e -> this.playback.setRate(Math.max(MIN_RATE, this.playback.getRate() / 2)));
+        Button faster = new Button();
+        faster.setText("Faster");
+            faster.setOnMouseClicked(e -> this.playback.setRate(Math.min(MAX_RATE, this.playback.getRate() * 2)));
+        buttons.getChildren().add(load);
+        buttons.getChildren().add(reset);
+        buttons.getChildren().add(this.hint);
+        buttons.getChildren().add(this.play);
+        buttons.getChildren().add(this.step);
+        buttons.getChildren().add(slower);
+        buttons.getChildren().add(faster);
+        return buttons;
+    }
+    /**
+     * Stops the solution playback
+     */
+    private void pause() {
+        this.playback.pause();
+        this.play.setText("Play");
+    }
+    /**
+     * Makes sure the model has a solution to play back from the current board, then runs the
+     * given playback action. A new solution is searched for off the JavaFX thread so the window
+     * keeps responding, and a solution for a board that changed while it was searched for is
+     * dropped.
+     *
+     * @param then = what to do once the solution can be played back
+     */
+    private void whenSolved(Runnable then) {
+        if (this.model.isPlaying()) {
+            then.run();
+            return;
+        }
+        HoppersConfig start = this.model.getCurrentConfig();
+        HoppersModel.Solution cached = this.model.cachedSolution(start);
+        if (cached != null) {
+            if (this.model.applySolution(cached) && cached.path() != null) {
+                then.run();
+            }
+            return;
+        }
+        this.play.setDisable(true);
+        this.step.setDisable(true);
+        this.message.setText("Solving...");
+        BoardView.runInBackground(() -> HoppersModel.findSolution(start), found -> {
+            this.play.setDisable(false);
+            this.step.setDisable(false);
+            if (this.model.applySolution(found) && found.path() != null) {
+                then.run();
+            }
+        });
+    }
+    /**
+     * Searches for a hint off the JavaFX thread so the window keeps responding, and makes its
+     * jump once it is found. A hint for a board that changed while it was searched for is
+     * dropped and searched for again, and a hint the model found on the board before is used
+     * right away.
+     */
+    private void requestHint() {
+        pause();
+        HoppersModel.Hint cached = this.model.cachedHint(this.model.getCurrentConfig());
+        if (cached != null) {
+            // a retry for a stale hint can land here with the button still disabled
+            this.hint.setDisable(false);
+            this.model.applyHint(cached);
+            return;
+        }
+        this.hint.setDisable(true);
+        this.message.setText("Finding hint...");
+        HoppersConfig start = this.model.getCurrentConfig();
+        BoardView.runInBackground(() -> HoppersModel.findHint(start), found -> {
+            if (this.model.applyHint(found)) {
+                this.hint.setDisable(false);
+            } else {
+                requestHint();
+            }
+        });
+    }
+    /**
+     * Gets the image for a cell value
+     *
+     * @param cell = cell value
+     * @return image
+     */
+    private Image imageFor(char cell) {
+        return switch (cell) {
+            case 'G' -> greenFrog;
+            case 'R' -> redFrog;
+            case '.' -> lilyPad;
+            default -> water;
+        };
+    }
+    /**
+     * Handles a click on a cell. A frog is selected, a lily pad is the destination of the
+     * selected frog, and water is an invalid selection. The board is read from the model, since
+     * the events of the latest jumps may not have been drawn yet.
+     *
+     * @param row = row of the cell
+     * @param col = col of the cell
+     */
+    private void clicked(int row, int col) {
+        HoppersConfig config = this.model.getCurrentConfig();
+        char cell = config.getCell(row, col);
+        if (cell == 'G' || cell == 'R') {
+            assign(row, col);
+        } else if (cell == '.') {
+            if (this.selectedOn != config) {
+                this.initialRow = -1;
+                this.initialCol = -1;
+            }
+            this.finalRow = row;
+            this.finalCol = col;
+            this.jump = "from (" + this.initialRow + ", " + this.initialCol + ") to (" + this.finalRow + ", " + this.finalCol + ")";
+            this.model.select(this.initialRow, this.initialCol, this.finalRow, this.finalCol);
+            this.initialRow = -1;
+            this.initialCol = -1;
+            this.finalRow = -1;
+            this.finalCol = -1;
+            this.selectedOn = null;
+        } else {
+            this.message.setText("Invalid selection (" + row + ", " + col + ")");
+        }
+    }
+    /**
+     * Brings the grid up to date with the new configuration, only the cells that changed
+     * get a new image. A new grid is made when the new board has a different size.
+     *
+     * @param config = new configuration
+     */
+    private void refreshPuzzle(HoppersConfig config) {
+        if (this.puzzle.show(config.getRowDIM(), config.getColDIM(), config::getCell)) {
+            this.stage.sizeToScene();  // when a different sized puzzle is loaded
+        }
+    }
+    /**
+     * Redraws only the cells of the given jumps
+     *
+     * @param moves = jumps made since the last update
+     */
+    private void applyMoves(Iterable<HoppersEvent.Move> moves) {
+        HoppersConfig config = this.model.getCurrentConfig();
+        List<Coordinates> changed = new ArrayList<>();
+        for (HoppersEvent.Move move : moves) {
+            changed.add(move.from());
+            changed.add(move.over());
+            changed.add(move.to());
+        }
+        this.puzzle.update(config::getCell, changed);
+    }
+    /**
+     * Updates the GUI with updated information
+     *
+     * @param hoppersModel the object that wishes to inform this object
+     *                about something that has happened.
+     * @param event what happened, with the jumps that changed the board
+     *
+     */
+    @Override
+    public void update(HoppersModel hoppersModel, HoppersEvent event) {
+        switch (event.kind()) {
+            case NEW_PUZZLE -> this.message.setText("Loaded: " + this.fileName);
+            case NEW_CONFIG -> this.message.setText("Jumped " + this.jump);
+            case SAME_CONFIG -> this.message.setText("Can't jump " + this.jump);
+            case NO_FILE -> this.message.setText("File does not exist");
+            case HINT -> this.message.setText("Hint given");
+            case RESET -> this.message.setText("Puzzle reset");
+            case END -> this.message.setText("NO SOLUTION");
+            case BUDGET -> this.message.setText("Too many configs, no solution found");
+            case SOLVED -> this.message.setText("Solved in " + hoppersModel.getSolutionLength() + " moves");
+            case STEP -> this.message.setText("Step " + hoppersModel.getSolutionStep() + " of " + hoppersModel.getSolutionLength());
+            case DONE -> this.message.setText("Solution finished");
+        }
+        if (event.kind() != HoppersEvent.Kind.STEP && event.kind() != HoppersEvent.Kind.SOLVED) {
+            pause();
+        }
+        if (event.isFullUpdate()) {
+            refreshPuzzle(this.model.getCurrentConfig());
+        } else {
+            applyMoves(event.moves());
+        }
+    }
+    /**
+     * When first frog is selected, initialRow and initialCol is assigned accordingly to the initial selection
+     *
+     * @param row = row of selection
+     * @param col = col of selection
+     */
+    public void assign(int row, int col) {
+        this.initialRow = row;
+        this.initialCol = col;
+        this.selectedOn = this.model.getCurrentConfig();
+        this.message.setText("Selected (" + row + ", " + col + ")");
+    }
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: java HoppersPTUI filename");
+        } else {
+            Application.launch(args);
+        }
+    }
+}
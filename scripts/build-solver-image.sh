@@ -0,0 +1,46 @@
+#!/bin/sh
+# Builds a runtime image holding only the headless solvers (module BFSPuzzleSolver from src/,
+# no JavaFX) with launchers for the command line puzzles, then trains a class data sharing
+# archive into the image so short solves skip most class loading and verification.
+#
+# Usage: scripts/build-solver-image.sh [output]    (run from the project root, JDK 17+)
+#
+# The image is written to build/solver-image unless another directory is given, and is run as
+#   build/solver-image/bin/hoppers data/hoppers/hoppers-5.txt
+#   build/solver-image/bin/chess data/chess/chess-4.txt
+#   build/solver-image/bin/clock 12 2 11
+#   build/solver-image/bin/strings CAT DOG
+set -e
+IMAGE=${1:-build/solver-image}
+BUILD=build/solver
+MODULE=BFSPuzzleSolver
+
+rm -rf "$BUILD" "$IMAGE"
+mkdir -p "$BUILD/modules/$MODULE"
+# plain string concatenation instead of invokedynamic, which spins classes at startup that the
+# archive cannot hold
+javac -XDstringConcat=inline -d "$BUILD/modules/$MODULE" $(find src -name '*.java')
+
+jlink --module-path "$BUILD/modules" --add-modules "$MODULE" --output "$IMAGE" \
+    --strip-debug --no-header-files --no-man-pages \
+    --launcher hoppers="$MODULE/puzzles.hoppers.solver.Hoppers" \
+    --launcher chess="$MODULE/puzzles.chess.solver.Chess" \
+    --launcher clock="$MODULE/puzzles.clock.Clock" \
+    --launcher strings="$MODULE/puzzles.strings.Strings"
+
+# record the classes a few short solves load, then dump them into the image's default
+# archive, lib/server/classes.jsa, which every launch of the image maps without extra options
+: > "$BUILD/classes.lst"
+train() {
+    "$IMAGE/bin/java" -Xshare:off -XX:DumpLoadedClassList="$BUILD/train.lst" -m "$MODULE/$@" > /dev/null
+    cat "$BUILD/train.lst" >> "$BUILD/classes.lst"
+}
+train puzzles.hoppers.solver.Hoppers data/hoppers/hoppers-5.txt
+train puzzles.chess.solver.Chess data/chess/chess-3.txt
+train puzzles.clock.Clock 12 2 11
+train puzzles.strings.Strings CAT DOG
+sort -u "$BUILD/classes.lst" -o "$BUILD/classes.lst"
+"$IMAGE/bin/java" -Xshare:dump -XX:SharedClassListFile="$BUILD/classes.lst" \
+    -XX:SharedArchiveFile="$IMAGE/lib/server/classes.jsa" -m "$MODULE" > /dev/null
+
+echo "Built $IMAGE"
@@ -1,9 +1,8 @@
 module BFSPuzzleSolver {
-    requires transitive javafx.controls;
+    requires jdk.httpserver;
+    requires jdk.jfr;
     exports puzzles.common;
     exports puzzles.common.solver;
-    exports puzzles.hoppers.gui;
-    exports puzzles.hoppers.model;
-    exports puzzles.chess.gui;
     exports puzzles.chess.model;
+    exports puzzles.hoppers.model;
 }
\ No newline at end of file
@@ -0,0 +1,310 @@
+package puzzles.chess.model;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.*;
+import puzzles.common.Coordinates;
+import puzzles.common.solver.Configuration;
+
+/**
+ * The Configuration of the Chess Solitaire puzzle. Every move must capture a piece, and the
+ * puzzle is solved when a single piece is left.
+ *
+ * @author Daniel Baek
+ */
+public class ChessConfig implements Configuration {
+    public final static char EMPTY = '.';
+    public final static char KING = 'K';
+    public final static char QUEEN = 'Q';
+    public final static char KNIGHT = 'N';
+    public final static char BISHOP = 'B';
+    public final static char ROOK = 'R';
+    public final static char PAWN = 'P';
+    /** Squares a king can move to, as row and col steps */
+    private final static int[][] KING_STEPS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}, {-1, 1}, {-1, -1}, {1, 1}, {1, -1}};
+    /** Squares a knight can move to, as row and col steps */
+    private final static int[][] KNIGHT_STEPS = {{-2, 1}, {-2, -1}, {-1, 2}, {-1, -2}, {1, 2}, {1, -2}, {2, 1}, {2, -1}};
+    /** Squares a pawn can capture on, diagonally up the board */
+    private final static int[][] PAWN_STEPS = {{-1, -1}, {-1, 1}};
+    /** Directions a bishop slides in */
+    private final static int[][] DIAGONALS = {{-1, -1}, {-1, 1}, {1, -1}, {1, 1}};
+    /** Directions a rook slides in */
+    private final static int[][] STRAIGHTS = {{-1, 0}, {1, 0}, {0, -1}, {0, 1}};
+    private final int rowDIM;
+    private final int colDIM;
+    private int pieces;
+    private final char[][] board;
+    /** the squares the capture that made this configuration went from and to, -1 if there was none */
+    private int lastFrom = -1;
+    private int lastTo = -1;
+    /**
+     * Creates ChessConfig
+     *
+     * @param filename = file
+     */
+    public ChessConfig(String filename) throws IOException {
+        try (BufferedReader in = new BufferedReader(new FileReader(filename))) {
+            String[] DIM = in.readLine().trim().split("\\s+");
+            rowDIM = Integer.parseInt(DIM[0]);
+            colDIM = Integer.parseInt(DIM[1]);
+            this.board = new char[rowDIM][colDIM];
+            for (int r = 0; r < rowDIM; r++) {
+                String line = in.readLine();
+                if (line == null) {
+                    throw new IOException("Missing row " + r + " in " + filename);
+                }
+                String[] field = line.trim().split("\\s+");
+                for (int c = 0; c < colDIM; c++) {
+                    this.board[r][c] = field[c].charAt(0);
+                    if (this.board[r][c] != EMPTY) {
+                        pieces += 1;
+                    }
+                }
+            }
+        } catch (NumberFormatException | ArrayIndexOutOfBoundsException | NullPointerException e) {
+            throw new IOException("Bad chess file " + filename, e);
+        }
+    }
+    /**
+     * Copy constructor, used to make neighbors
+     *
+     * @param other = parent config
+     */
+    private ChessConfig(ChessConfig other) {
+        this.rowDIM = other.rowDIM;
+        this.colDIM = other.colDIM;
+        this.pieces = other.pieces;
+        this.board = new char[rowDIM][colDIM];
+        for (int r = 0; r < rowDIM; r++) {
+            System.arraycopy(other.board[r], 0, this.board[r], 0, colDIM);
+        }
+    }
+
+    /**
+     * Checks if config is the end config, a single piece must be left
+     *
+     * @return pieces == 1
+     */
+    @Override
+    public boolean isSolution() {
+        return pieces == 1;
+    }
+    /**
+     * Gets the number of pieces left on the board
+     *
+     * @return this.pieces
+     */
+    public int getPieceCount() {
+        return this.pieces;
+    }
+    /**
+     * Checks if the square is on the board and holds a piece
+     *
+     * @param row = row of square
+     * @param col = col of square
+     * @return True if there is a piece, false otherwise
+     */
+    private boolean isPiece(int row, int col) {
+        return row >= 0 && row < rowDIM && col >= 0 && col < colDIM && this.board[row][col] != EMPTY;
+    }
+    /**
+     * Makes the configuration after the piece on one square captures the piece on another,
+     * without checking that the piece can move that way
+     *
+     * @param fromRow = row of the capturing piece
+     * @param fromCol = col of the capturing piece
+     * @param toRow = row of the captured piece
+     * @param toCol = col of the captured piece
+     * @return the new configuration
+     */
+    private ChessConfig move(int fromRow, int fromCol, int toRow, int toCol) {
+        ChessConfig neighbor = new ChessConfig(this);
+        neighbor.board[toRow][toCol] = neighbor.board[fromRow][fromCol];
+        neighbor.board[fromRow][fromCol] = EMPTY;
+        neighbor.pieces -= 1;
+        neighbor.lastFrom = fromRow * colDIM + fromCol;
+        neighbor.lastTo = toRow * colDIM + toCol;
+        return neighbor;
+    }
+    /**
+     * Adds the capture of the piece a single step away, if there is one
+     *
+     * @param neighbors = neighbors to add to
+     * @param row = row of the capturing piece
+     * @param col = col of the capturing piece
+     * @param steps = row and col steps the piece can make
+     */
+    private void addSteps(Collection<ChessConfig> neighbors, int row, int col, int[][] steps) {
+        for (int[] step : steps) {
+            if (isPiece(row + step[0], col + step[1])) {
+                neighbors.add(move(row, col, row + step[0], col + step[1]));
+            }
+        }
+    }
+    /**
+     * Adds the capture of the first piece in each direction, for pieces that slide
+     *
+     * @param neighbors = neighbors to add to
+     * @param row = row of the capturing piece
+     * @param col = col of the capturing piece
+     * @param directions = row and col steps the piece slides in
+     */
+    private void addSlides(Collection<ChessConfig> neighbors, int row, int col, int[][] directions) {
+        for (int[] direction : directions) {
+            int r = row + direction[0];
+            int c = col + direction[1];
+            while (r >= 0 && r < rowDIM && c >= 0 && c < colDIM && this.board[r][c] == EMPTY) {
+                r += direction[0];
+                c += direction[1];
+            }
+            if (isPiece(r, c)) {
+                neighbors.add(move(row, col, r, c));
+            }
+        }
+    }
+    /**
+     * Gets every capture the piece on a square can make
+     *
+     * @param row = row of square
+     * @param col = col of square
+     * @return the configurations after each capture, empty if the square is empty
+     */
+    public Collection<ChessConfig> captures(int row, int col) {
+        ArrayList<ChessConfig> neighbors = new ArrayList<>();
+        switch (this.board[row][col]) {
+            case KING -> addSteps(neighbors, row, col, KING_STEPS);
+            case QUEEN -> {
+                addSlides(neighbors, row, col, STRAIGHTS);
+                addSlides(neighbors, row, col, DIAGONALS);
+            }
+            case KNIGHT -> addSteps(neighbors, row, col, KNIGHT_STEPS);
+            case BISHOP -> addSlides(neighbors, row, col, DIAGONALS);
+            case ROOK -> addSlides(neighbors, row, col, STRAIGHTS);
+            case PAWN -> addSteps(neighbors, row, col, PAWN_STEPS);
+        }
+        return neighbors;
+    }
+    /**
+     * Makes the configuration after a single capture, if the piece can make it
+     *
+     * @param fromRow = row of the capturing piece
+     * @param fromCol = col of the capturing piece
+     * @param toRow = row of the captured piece
+     * @param toCol = col of the captured piece
+     * @return the new configuration, or null if the capture is not allowed
+     */
+    public ChessConfig capture(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!isPiece(fromRow, fromCol) || !isPiece(toRow, toCol)) {
+            return null;
+        }
+        for (ChessConfig neighbor : captures(fromRow, fromCol)) {
+            if (neighbor.lastTo == toRow * colDIM + toCol) {
+                return neighbor;
+            }
+        }
+        return null;
+    }
+    /**
+     * Gets the square the capture that made this configuration started from
+     *
+     * @return the square, or null if this configuration was not made by a capture
+     */
+    public Coordinates getLastFrom() {
+        return this.lastFrom < 0 ? null : Coordinates.of(this.lastFrom / colDIM, this.lastFrom % colDIM);
+    }
+    /**
+     * Gets the square of the piece captured by the capture that made this configuration
+     *
+     * @return the square, or null if this configuration was not made by a capture
+     */
+    public Coordinates getLastTo() {
+        return this.lastTo < 0 ? null : Coordinates.of(this.lastTo / colDIM, this.lastTo % colDIM);
+    }
+    /**
+     * Gets every capture of every piece on the board. Pieces of the same kind are alike, so
+     * captures by one piece of several others of its kind lead to the same board, which is only
+     * kept once. The captures come out in the order of the hash set, which decides the shortest
+     * path the solver finds and so has to stay as it is for the paths in output/chess.
+     *
+     * @return successors
+     */
+    @Override
+    public Collection<Configuration> getNeighbors() {
+        Set<Configuration> successors = new HashSet<>();
+        for (int row = 0; row < rowDIM; row++) {
+            for (int col = 0; col < colDIM; col++) {
+                successors.addAll(captures(row, col));
+            }
+        }
+        return successors;
+    }
+    /**
+     * Gets the hash code of the config
+     *
+     * @return hash code of config
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.deepHashCode(this.board);
+    }
+    /**
+     * Checks if config is equal to other config
+     *
+     * @param other = other config
+     * @return True if they are equal, false otherwise
+     */
+    @Override
+    public boolean equals(Object other) {
+        boolean result = false;
+        if (other instanceof ChessConfig c) {
+            result = Arrays.deepEquals(this.board, c.board);
+        }
+        return result;
+    }
+    /**
+     * Gets the cell at the given coordinate
+     *
+     * @param row = row
+     * @param col = col
+     * @return cell
+     */
+    public char getCell(int row, int col) {
+        return this.board[row][col];
+    }
+    /**
+     * Gets the rowDim
+     *
+     * @return this.rowDIM
+     */
+    public int getRowDIM() {
+        return this.rowDIM;
+    }
+    /**
+     * Gets the colDim
+     *
+     * @return this.colDIM
+     */
+    public int getColDIM() {
+        return this.colDIM;
+    }
+    /**
+     * Gets String representation of config, one line per row
+     *
+     * @return result
+     */
+    @Override
+    public String toString() {
+        StringBuilder result = new StringBuilder();
+        for (int row = 0; row < rowDIM; row++) {
+            result.append(System.lineSeparator());
+            for (int col = 0; col < colDIM; col++) {
+                if (col != 0) {
+                    result.append(' ');
+                }
+                result.append(this.board[row][col]);
+            }
+        }
+        return result.toString();
+    }
+}
@@ -0,0 +1,64 @@
+package puzzles.chess.model;
+
+import puzzles.common.Coordinates;
+
+import java.util.List;
+
+/**
+ * What happened in the ChessModel, sent to its observers. Besides the kind of event it carries
+ * the squares it was about, so a view can redraw only the squares a capture changed.
+ *
+ * @param kind = what happened
+ * @param from = the selected square, or the square a capture went from, null if there is none
+ * @param to = the square of the captured piece, null if there is none
+ *
+ * @author Daniel Baek
+ */
+public record ChessEvent(Kind kind, Coordinates from, Coordinates to) {
+    /**
+     * The kinds of events of the ChessModel
+     */
+    public enum Kind {
+        /** a new puzzle file was loaded */
+        LOADED,
+        /** the puzzle file could not be loaded */
+        LOAD_FAIL,
+        /** the puzzle was set back to its start */
+        RESET,
+        /** a piece was selected to capture with */
+        SELECTED,
+        /** an empty square was selected to capture with */
+        INVALID_SELECTION,
+        /** the selected piece captured another */
+        CAPTURED,
+        /** the selected piece can not capture the other */
+        ILLEGAL,
+        /** the next capture of a solution was made */
+        HINT,
+        /** a single piece is left, there is nothing to hint */
+        SOLVED,
+        /** the puzzle has no solution from here */
+        NO_SOLUTION
+    }
+
+    /**
+     * Checks if the whole board has to be redrawn
+     *
+     * @return True if a new board was loaded or the board was reset, false otherwise
+     */
+    public boolean isFullUpdate() {
+        return this.kind == Kind.LOADED || this.kind == Kind.RESET;
+    }
+
+    /**
+     * Gets the squares whose pieces changed
+     *
+     * @return the squares of the capture, empty if the board did not change or was redrawn
+     */
+    public List<Coordinates> changed() {
+        if (this.kind == Kind.CAPTURED || this.kind == Kind.HINT) {
+            return List.of(this.from, this.to);
+        }
+        return List.of();
+    }
+}
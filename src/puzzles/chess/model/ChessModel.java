@@ -0,0 +1,192 @@
+package puzzles.chess.model;
+
+import puzzles.chess.model.ChessEvent.Kind;
+import puzzles.common.Coordinates;
+import puzzles.common.Observer;
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.Solver;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The Model of the Chess Solitaire puzzle
+ *
+ * @author Daniel Baek
+ */
+public class ChessModel {
+    /**
+     * The next capture of a solution, found from a configuration without touching the model
+     *
+     * @param start = configuration the hint was found from
+     * @param next = configuration after the capture, null if the start is solved or has no solution
+     */
+    public record Hint(ChessConfig start, ChessConfig next) {
+    }
+
+    /** the collection of observers of this model */
+    private final List<Observer<ChessModel, ChessEvent>> observers = new ArrayList<>();
+    /** the file the puzzle was loaded from, reset reads it again */
+    private String fileName;
+    /** the current configuration */
+    private ChessConfig currentConfig;
+    /** the square of the piece selected to capture with, null if none is selected */
+    private Coordinates selected;
+    /**
+     * The view calls this to add itself as an observer.
+     *
+     * @param observer the view
+     */
+    public void addObserver(Observer<ChessModel, ChessEvent> observer) {
+        this.observers.add(observer);
+    }
+
+    /**
+     * The model's state has changed, so inform the view via the update method
+     *
+     * @param kind = what happened
+     * @param from = selected square or square the capture went from, null if there is none
+     * @param to = square of the captured piece, null if there is none
+     */
+    private void alertObservers(Kind kind, Coordinates from, Coordinates to) {
+        ChessEvent event = new ChessEvent(kind, from, to);
+        for (var observer : observers) {
+            observer.update(this, event);
+        }
+    }
+    /**
+     * Gets the current configuration
+     *
+     * @return this.currentConfig
+     */
+    public ChessConfig getCurrentConfig() {
+        return this.currentConfig;
+    }
+    /**
+     * Gets the file the puzzle was loaded from
+     *
+     * @return this.fileName
+     */
+    public String getFileName() {
+        return this.fileName;
+    }
+    /**
+     * Gets the square of the piece selected to capture with
+     *
+     * @return this.selected, null if none is selected
+     */
+    public Coordinates getSelected() {
+        return this.selected;
+    }
+    /**
+     * Finds the next capture of a shortest solution from a configuration. Nothing in the model is
+     * read or changed, so a view may call this away from its own thread and give the result to
+     * applyHint afterwards.
+     *
+     * @param start = configuration to solve from
+     * @return the hint
+     */
+    public static Hint findHint(ChessConfig start) {
+        if (start.isSolution()) {
+            return new Hint(start, null);
+        }
+        Solver solver = new Solver(start);
+        solver.solve();
+        List<Configuration> path = solver.getPath();
+        return new Hint(start, path.size() < 2 ? null : (ChessConfig) path.get(1));
+    }
+    /**
+     * Makes the capture of a hint. A hint found from a configuration other than the current
+     * one is out of date and is dropped.
+     *
+     * @param hint = hint from findHint
+     * @return True if the hint was for the current configuration, false otherwise
+     */
+    public boolean applyHint(Hint hint) {
+        if (hint.start() != this.currentConfig) {
+            return false;
+        }
+        this.selected = null;
+        if (hint.next() == null) {
+            alertObservers(hint.start().isSolution() ? Kind.SOLVED : Kind.NO_SOLUTION, null, null);
+        } else {
+            this.currentConfig = hint.next();
+            alertObservers(Kind.HINT, this.currentConfig.getLastFrom(), this.currentConfig.getLastTo());
+        }
+        return true;
+    }
+    /**
+     * Gives the user a hint, the next capture, for the puzzle
+     */
+    public void hint() {
+        applyHint(findHint(this.currentConfig));
+    }
+    /**
+     * Selects a square. The first selection picks the piece to capture with, and the second
+     * picks the piece it captures, which is done if that capture is allowed.
+     *
+     * @param row = row of square
+     * @param col = col of square
+     */
+    public void select(int row, int col) {
+        Coordinates square = Coordinates.of(row, col);
+        if (this.selected == null) {
+            if (row < 0 || row >= this.currentConfig.getRowDIM() || col < 0 || col >= this.currentConfig.getColDIM()
+                    || this.currentConfig.getCell(row, col) == ChessConfig.EMPTY) {
+                alertObservers(Kind.INVALID_SELECTION, square, null);
+            } else {
+                this.selected = square;
+                alertObservers(Kind.SELECTED, square, null);
+            }
+            return;
+        }
+        Coordinates from = this.selected;
+        this.selected = null;
+        ChessConfig next = this.currentConfig.capture(from.row(), from.col(), row, col);
+        if (next == null) {
+            alertObservers(Kind.ILLEGAL, from, square);
+        } else {
+            this.currentConfig = next;
+            alertObservers(Kind.CAPTURED, from, square);
+        }
+    }
+    /**
+     * Resets the puzzle by loading its file again, the puzzle is kept as it is if the file can
+     * no longer be read
+     */
+    public void reset() {
+        if (load(this.fileName)) {
+            alertObservers(Kind.RESET, null, null);
+        }
+    }
+    /**
+     * Loads the file, the current puzzle is kept if the file can not be read
+     *
+     * @param file = file
+     * @return True if the file was loaded, false otherwise
+     */
+    public boolean load(String file) {
+        ChessConfig config;
+        try {
+            config = new ChessConfig(file);
+        } catch (IOException e) {
+            alertObservers(Kind.LOAD_FAIL, null, null);
+            return false;
+        }
+        this.fileName = file;
+        this.currentConfig = config;
+        this.selected = null;
+        alertObservers(Kind.LOADED, null, null);
+        return true;
+    }
+
+    /**
+     * Creates the ChessModel
+     *
+     * @param filename = file
+     */
+    public ChessModel(String filename) throws IOException {
+        this.fileName = filename;
+        this.currentConfig = new ChessConfig(filename);
+    }
+}
@@ -0,0 +1,165 @@
+package puzzles.chess.ptui;
+
+import puzzles.chess.model.ChessConfig;
+import puzzles.chess.model.ChessEvent;
+import puzzles.chess.model.ChessModel;
+import puzzles.common.Coordinates;
+import puzzles.common.Observer;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.Scanner;
+
+/**
+ * The PTUI of the Chess Solitaire puzzle
+ *
+ * @author Daniel Baek
+ */
+public class ChessPTUI implements Observer<ChessModel, ChessEvent> {
+    private ChessModel model;
+    /** A horizontal divider */
+    char HORI_DIVIDE = '-';
+    /** A vertical divider */
+    char VERT_DIVIDE = '|';
+    /** The file last asked to be loaded, shown if it fails to load */
+    private String fileName;
+    /** Where all output goes, flushed after every line */
+    private PrintWriter out = new PrintWriter(System.out, true);
+
+    /**
+     * Initializes the PTUI
+     *
+     * @param filename = file
+     */
+    public void init(String filename) throws IOException {
+        this.fileName = filename;
+        this.model = new ChessModel(filename);
+        this.model.addObserver(this);
+        out.println("Loaded: " + new File(filename).getName());
+        out.println(getDisplay());
+        displayHelp();
+    }
+
+    /**
+     * Updates the PTUI, showing the board after every event. A reset loads the file again, so
+     * it shows the loaded board and then the reset one.
+     *
+     * @param model the object that wishes to inform this object
+     *                about something that has happened.
+     * @param data what happened, with the squares it was about
+     *
+     */
+    @Override
+    public void update(ChessModel model, ChessEvent data) {
+        switch (data.kind()) {
+            case LOADED -> out.println("Loaded: " + new File(model.getFileName()).getName());
+            case LOAD_FAIL -> out.println("Failed to load: " + fileName);
+            case RESET -> out.println("Puzzle reset!");
+            case SELECTED -> out.println("Selected " + square(data.from()));
+            case INVALID_SELECTION -> out.println("Invalid selection " + square(data.from()));
+            case CAPTURED -> out.println("Captured from " + square(data.from()) + "  to " + square(data.to()));
+            case ILLEGAL -> out.println("Can't capture from " + square(data.from()) + "  to " + square(data.to()));
+            case HINT -> out.println("Next step!");
+            case SOLVED -> out.println("Already solved!");
+            case NO_SOLUTION -> out.println("No solution!");
+        }
+        out.println(getDisplay());
+    }
+    /**
+     * Gets the text of a square
+     *
+     * @param square = square
+     * @return (row, col)
+     */
+    private static String square(Coordinates square) {
+        return "(" + square.row() + ", " + square.col() + ")";
+    }
+    /**
+     * Displays the help functions
+     */
+    private void displayHelp() {
+        out.println( "h(int)              -- hint next move" );
+        out.println( "l(oad) filename     -- load new puzzle file" );
+        out.println( "s(elect) r c        -- select cell at r, c" );
+        out.println( "q(uit)              -- quit the game" );
+        out.println( "r(eset)             -- reset the current game" );
+    }
+    /**
+     * Runs the PTUI
+     */
+    public void run() {
+        Scanner in = new Scanner( System.in );
+        for ( ; ; ) {
+            out.print( "> " );
+            out.flush();
+            if (!in.hasNextLine()) {
+                break;
+            }
+            String[] words = in.nextLine().trim().split( "\\s+" );
+            // checks if user wants to quit puzzle
+            if (words[0].startsWith( "q" )) {
+                break;
+            // checks if user wants a hint
+            } else if (words[0].startsWith("h")) {
+                model.hint();
+            // checks if user wants to load a new puzzle
+            } else if (words[0].startsWith("l") && words.length == 2) {
+                fileName = words[1];
+                model.load(fileName);
+            // checks if user wants to select a cell
+            } else if (words[0].startsWith("s") && words.length == 3) {
+                try {
+                    model.select(Integer.parseInt(words[1]), Integer.parseInt(words[2]));
+                } catch (NumberFormatException e) {
+                    displayHelp();
+                }
+            // checks if user wants to reset puzzle
+            } else if (words[0].startsWith("r")) {
+                model.reset();
+            } else {
+                displayHelp();
+            }
+        }
+    }
+    /**
+     * Creates String representation of configuration, with the rows and cols numbered
+     * @return result
+     */
+    public String getDisplay() {
+        ChessConfig config = model.getCurrentConfig();
+        int rowDIM = config.getRowDIM();
+        int colDIM = config.getColDIM();
+        StringBuilder result = new StringBuilder("  ");
+
+        for (int col=0; col<colDIM; col++) {
+            result.append(" ").append(col);
+        }
+        result.append(System.lineSeparator()).append("  ");
+
+        result.append(String.valueOf(HORI_DIVIDE).repeat(colDIM * 2));
+        result.append(System.lineSeparator());
+
+        for (int row=0; row<rowDIM; row++) {
+            result.append(row);
+            result.append(VERT_DIVIDE);
+            for (int col = 0; col<colDIM ; col++) {
+                result.append(" ").append(config.getCell(row, col));
+            }
+            result.append(System.lineSeparator());
+        }
+        return result.toString();
+    }
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: java ChessPTUI filename");
+        } else {
+            try {
+                ChessPTUI ptui = new ChessPTUI();
+                ptui.init(args[0]);
+                ptui.run();
+            } catch (IOException ioe) {
+                System.out.println(ioe.getMessage());
+            }
+        }
+    }
+}
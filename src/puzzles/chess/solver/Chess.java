@@ -0,0 +1,30 @@
+package puzzles.chess.solver;
+
+import puzzles.chess.model.ChessConfig;
+import puzzles.common.solver.Solver;
+
+import java.io.IOException;
+
+/**
+ * Reads a Chess Solitaire puzzle and prints its shortest solution
+ *
+ * @author Daniel Baek
+ */
+public class Chess {
+    public static void main(String[] args) {
+        if (args.length != 1) {
+            System.out.println("Usage: java Chess filename");
+        } else {
+            System.out.println("File: " + args[0]);
+            try {
+                ChessConfig chess = new ChessConfig(args[0]);
+                System.out.println(chess);
+                Solver solver = new Solver(chess);
+                solver.solve();
+                solver.display();
+            } catch (IOException e) {
+                throw new RuntimeException(e);
+            }
+        }
+    }
+}
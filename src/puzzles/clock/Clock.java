@@ -1,31 +1,43 @@
 package puzzles.clock;
 
+import puzzles.common.solver.Configuration;
 import puzzles.common.solver.Solver;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Gets the arguments of the program (hours, start, end)
  * Creates a new ClockConfig (the initial configuration)
  * Creates a new Solver with the initial ClockConfig
  * Displays hours, start, and end hours
- * Calls solver.solve to get the shortest path
+ * Calls solver.solve to get the shortest path, or computes it directly when "direct" is given
  *
  * @author Daniel Baek
  */
 public class Clock {
     public static void main(String[] args) throws IOException {
-        if (args.length < 2) {
-            System.out.println(("Usage: java Clock start stop"));
+        if (args.length < 3) {
+            System.out.println(("Usage: java Clock hours start stop [direct]"));
         } else {
             int hours = Integer.parseInt(args[0]);
             int start = Integer.parseInt(args[1]);
             int end = Integer.parseInt(args[2]);
             ClockConfig clock = new ClockConfig(hours, start, end);
-            Solver solver = new Solver(clock);
             System.out.println("Hours: " + hours + ", Start: " + start + ", End: " + end);
-            solver.solve();
-            solver.display();
+            if (args.length > 3 && args[3].equals("direct")) {
+                List<Configuration> path = clock.directPath();
+                if (path.isEmpty()) {
+                    System.out.println("No solution");
+                }
+                for (int i = 0; i < path.size(); i++) {
+                    System.out.println("Step " + i + ": " + path.get(i));
+                }
+            } else {
+                Solver solver = new Solver(clock);
+                solver.solve();
+                solver.display();
+            }
         }
     }
 }
@@ -3,6 +3,7 @@ package puzzles.clock;
 import puzzles.common.solver.Configuration;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
@@ -12,28 +13,20 @@ import java.util.Objects;
  * @author Daniel Baek
  */
 public class ClockConfig implements Configuration {
-    private static int hours;
-    private static int end;
+    private final int hours;
+    private final int end;
     private final int child;
     /**
-     * Creates a new ClockConfig, mainly used to generate initial (main) ClockConfig
+     * Creates a new ClockConfig, used to generate the initial (main) ClockConfig and its neighbors
      *
      * @param hours = number of hours the clock has
      * @param child = the starting hour
      * @param end = the finish hour
      */
     public ClockConfig(int hours, int child, int end) {
-        ClockConfig.hours = hours;
+        this.hours = hours;
         this.child = child;
-        ClockConfig.end = end;
-    }
-    /**
-     * Creates a new ClockConfig, mainly used to generate neighbors
-     *
-     * @param current = the current hour
-     */
-    public ClockConfig(int current) {
-        this.child = current;
+        this.end = end;
     }
     /**
      * Checks if the current hour is equal to the finish hour
@@ -60,12 +53,37 @@ public class ClockConfig implements Configuration {
         if (neighbor2 == hours + 1) {
             neighbor2 = 1;
         }
-        ClockConfig neighborOne = new ClockConfig(neighbor1);
-        ClockConfig neighborTwo = new ClockConfig(neighbor2);
+        ClockConfig neighborOne = new ClockConfig(hours, neighbor1, end);
+        ClockConfig neighborTwo = new ClockConfig(hours, neighbor2, end);
         neighbors.add(neighborOne);
         neighbors.add(neighborTwo);
         return neighbors;
     }
+    /**
+     * Gets the shortest path to the finish hour without searching. The path goes the shorter way
+     * around the dial, and backwards on a tie, which is the same path the BFS solver finds
+     * since it looks at the previous hour before the next one.
+     *
+     * @return path from this hour to the finish hour, both included, or empty if the finish
+     *         hour is not on the dial
+     */
+    public List<Configuration> directPath() {
+        if (end < 1 || end > hours) {
+            return new ArrayList<>();
+        }
+        int backward = Math.floorMod(this.child - end, hours);
+        int forward = Math.floorMod(end - this.child, hours);
+        int step = backward <= forward ? -1 : 1;
+        int distance = Math.min(backward, forward);
+        List<Configuration> path = new ArrayList<>(distance + 1);
+        path.add(this);
+        int current = this.child;
+        for (int i = 0; i < distance; i++) {
+            current = Math.floorMod(current + step - 1, hours) + 1;
+            path.add(new ClockConfig(hours, current, end));
+        }
+        return path;
+    }
     /**
      * Checks if the current hour is equal to the other hour
      *
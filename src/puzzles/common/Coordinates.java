@@ -25,6 +25,42 @@ import java.util.*;
 public record Coordinates( int row, int col )
         implements Comparable<Coordinates> {
 
+    /**
+     * Rows and columns below this size share cached instances.
+     * @see Coordinates#of(int, int)
+     */
+    public static final int CACHE_DIM = 64;
+
+    /**
+     * Holds the cached instances, built the first time one is asked for.
+     */
+    private static class Cache {
+        private static final Coordinates[] CELLS = new Coordinates[CACHE_DIM * CACHE_DIM];
+        static {
+            for (int row = 0; row < CACHE_DIM; row++) {
+                for (int col = 0; col < CACHE_DIM; col++) {
+                    CELLS[row * CACHE_DIM + col] = new Coordinates(row, col);
+                }
+            }
+        }
+    }
+
+    /**
+     * Get the coordinates for a row and column, reusing a shared
+     * instance when both are between 0 and {@link #CACHE_DIM}, so hot
+     * code such as move generation does not allocate a new record for
+     * every cell it touches.
+     * @param row row number
+     * @param col column number
+     * @return the coordinates
+     */
+    public static Coordinates of(int row, int col) {
+        if (row >= 0 && row < CACHE_DIM && col >= 0 && col < CACHE_DIM) {
+            return Cache.CELLS[row * CACHE_DIM + col];
+        }
+        return new Coordinates(row, col);
+    }
+
     /**
      * Initialize this object with strings representing the integer values.
      * {@link Integer#parseInt(String)} is used to parse the strings.
@@ -96,6 +132,10 @@ public record Coordinates( int row, int col )
         // construct with a comma separated row and column string
         System.out.println(new Coordinates("50,60"));
 
+        // get a shared instance
+        Coordinates cached = Coordinates.of(3, 4);
+        System.out.println("cached: " + (cached == Coordinates.of(3, 4)));
+
         // when put into a TreeSet the order is by row then column
         Set<Coordinates> treeSet = new TreeSet<>();
         treeSet.add(new Coordinates(10, 20));
@@ -0,0 +1,118 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.function.ToIntFunction;
+
+/**
+ *
+ * Searches the Configuration puzzles one level at a time like BFS, but only keeps the best
+ * configurations of every level and stops at a time limit. It finds a path quickly when one
+ * exists, but it may miss solutions, and the path may not be the shortest.
+ *
+ * @author Daniel Baek
+ */
+public class BeamSolver {
+    /**
+     * A configuration in the beam, with the configuration it came from
+     *
+     * @param config = configuration
+     * @param parent = node it came from, null for the start
+     * @param score = rank of the configuration, lower is better
+     */
+    private record Node(Configuration config, Node parent, int score) {}
+    private final Configuration start;
+    private final int width;
+    private final long timeLimit;
+    private final ToIntFunction<Configuration> score;
+    private int count = 1;
+    private boolean timedOut = false;
+    private List<Configuration> path;
+    /**
+     * Creates a new beam solver that keeps the first configurations of each level
+     *
+     * @param start = start configuration
+     * @param width = most configurations kept per level
+     * @param timeLimit = milliseconds before giving up
+     */
+    public BeamSolver(Configuration start, int width, long timeLimit) {
+        this(start, width, timeLimit, config -> 0);
+    }
+    /**
+     * Creates a new beam solver
+     *
+     * @param start = start configuration
+     * @param width = most configurations kept per level
+     * @param timeLimit = milliseconds before giving up
+     * @param score = ranks the configurations of a level, the lowest are kept
+     */
+    public BeamSolver(Configuration start, int width, long timeLimit, ToIntFunction<Configuration> score) {
+        this.start = start;
+        this.width = width;
+        this.timeLimit = timeLimit;
+        this.score = score;
+    }
+    public List<Configuration> getPath() {
+        return this.path;
+    }
+    /**
+     * Checks if the search stopped because it ran out of time
+     *
+     * @return True if the time limit was reached, false otherwise
+     */
+    public boolean timedOut() {
+        return this.timedOut;
+    }
+    /**
+     * Gets the number of configurations generated, including repeats
+     *
+     * @return count
+     */
+    public int getTotalConfigs() {
+        return this.count;
+    }
+    /**
+     * Searches level by level, keeping only the best configurations of each level, until a
+     * solution is found, the beam is empty, or the time limit is reached
+     */
+    public void solve() {
+        long deadline = System.nanoTime() + timeLimit * 1_000_000;
+        path = new LinkedList<>();
+        List<Node> level = new ArrayList<>();
+        level.add(new Node(start, null, 0));
+        while (!level.isEmpty()) {
+            for (Node node : level) {
+                if (node.config().isSolution()) {
+                    for (Node current = node; current != null; current = current.parent()) {
+                        path.add(0, current.config());
+                    }
+                    return;
+                }
+            }
+            if (System.nanoTime() > deadline) {
+                timedOut = true;
+                return;
+            }
+            List<Node> next = new ArrayList<>();
+            Set<Configuration> seen = new HashSet<>();
+            for (Node node : level) {
+                for (Configuration config : node.config().getNeighbors()) {
+                    count += 1;
+                    if (seen.add(config)) {
+                        next.add(new Node(config, node, score.applyAsInt(config)));
+                    }
+                }
+            }
+            if (next.size() > width) {
+                // the sort is stable, so ties keep the order they were generated in
+                next.sort(Comparator.comparingInt(Node::score));
+                next = new ArrayList<>(next.subList(0, width));
+            }
+            level = next;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package puzzles.common.solver;
+
+/**
+ * A Bloom filter over 64 bit configuration fingerprints, used by the Solver in place of its
+ * predecessor map when storing every configuration does not fit in memory. It never forgets a
+ * fingerprint it was given, but may claim to have seen one it was not given, at about the error
+ * rate it was sized for as long as no more than the expected number of fingerprints are added.
+ *
+ * @author Daniel Baek
+ */
+class BloomFilter {
+    private final long[] bits;
+    private final long size;
+    private final int hashes;
+    /**
+     * Creates a filter sized for the given number of fingerprints and error rate
+     *
+     * @param expected = number of fingerprints expected to be added
+     * @param errorRate = chance of a fingerprint that was not added being reported as seen
+     */
+    BloomFilter(long expected, double errorRate) {
+        if (expected < 1 || errorRate <= 0 || errorRate >= 1) {
+            throw new IllegalArgumentException("Expected configs must be positive and the error rate between 0 and 1");
+        }
+        long size = (long) Math.ceil(-expected * Math.log(errorRate) / (Math.log(2) * Math.log(2)));
+        this.bits = new long[(int) Math.min(Integer.MAX_VALUE - 8, (size + 63) / 64)];
+        this.size = this.bits.length * 64L;
+        this.hashes = (int) Math.max(1, Math.round((double) this.size / expected * Math.log(2)));
+    }
+    /**
+     * Adds a fingerprint
+     *
+     * @param fingerprint = fingerprint of a configuration
+     * @return True if the fingerprint was not seen before, false if it was, or seems to have been
+     */
+    boolean add(long fingerprint) {
+        // two independent hashes of the fingerprint make all the others
+        long h1 = mix(fingerprint);
+        long h2 = mix(h1) | 1;
+        boolean added = false;
+        for (int i = 0; i < this.hashes; i++) {
+            long bit = Long.remainderUnsigned(h1 + i * h2, this.size);
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            if ((this.bits[word] & mask) == 0) {
+                this.bits[word] |= mask;
+                added = true;
+            }
+        }
+        return added;
+    }
+    /**
+     * Scrambles the bits of a value, so fingerprints that differ in a few bits land far apart
+     *
+     * @param value = value
+     * @return scrambled value
+     */
+    private static long mix(long value) {
+        value = (value ^ (value >>> 33)) * 0xFF51AFD7ED558CCDL;
+        value = (value ^ (value >>> 33)) * 0xC4CEB9FE1A85EC53L;
+        return value ^ (value >>> 33);
+    }
+    /**
+     * Gets the number of bits in the filter
+     *
+     * @return size
+     */
+    long getBits() {
+        return this.size;
+    }
+    /**
+     * Gets the number of bits set for each fingerprint
+     *
+     * @return hashes
+     */
+    int getHashes() {
+        return this.hashes;
+    }
+}
@@ -20,6 +20,16 @@ public interface Configuration {
      */
     Collection<Configuration> getNeighbors();
 
+    /**
+     * Get a 64 bit hash of the configuration, used by the solver's approximate visited
+     * filter where two configurations with the same fingerprint are taken to be the same.
+     * Puzzles with many configurations should give more bits than hashCode does.
+     * @return the fingerprint; hashCode by default
+     */
+    default long fingerprint() {
+        return hashCode();
+    }
+
     //////////////////////////////////////////////////////////////////////////////////////
     // The predecessor map from the BFS Solver forces any puzzle configuration          //
     // to override the equals and hashCode methods.                                     //
@@ -0,0 +1,34 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Decides the order a depth first search tries the neighbors of a configuration in.
+ * A good order finds the first solution after far fewer configurations. An ordering may
+ * also learn during the search from the neighbors that turned out to lead nowhere, so it
+ * must be safe to use from several threads at once.
+ */
+public interface MoveOrdering {
+    /**
+     * Tries the neighbors in the order the configuration made them
+     */
+    MoveOrdering NATURAL = (config, neighbors) -> new ArrayList<>(neighbors);
+
+    /**
+     * Orders the neighbors of a configuration
+     * @param config the configuration the neighbors came from
+     * @param neighbors the neighbors of the configuration
+     * @return the neighbors, the one to try first first
+     */
+    List<Configuration> order(Configuration config, Collection<Configuration> neighbors);
+
+    /**
+     * Tells the ordering that a neighbor was searched and leads to no solution
+     * @param config the configuration the neighbor came from
+     * @param neighbor the neighbor that leads nowhere
+     */
+    default void failed(Configuration config, Configuration neighbor) {
+    }
+}
@@ -0,0 +1,216 @@
+package puzzles.common.solver;
+
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+
+/**
+ *
+ * Solves the Configuration puzzles with a depth first search spread over a fork/join pool.
+ * Idle workers steal subtrees from busy ones, every configuration found to lead nowhere is
+ * shared between the workers so no subtree is searched twice, and all workers stop as soon
+ * as one finds a solution.
+ *
+ * The search only follows moves forward, so it is meant for puzzles that can never come back
+ * to an earlier configuration, like Hoppers where every jump removes a frog. The path it finds
+ * is a solution but not necessarily the shortest one.
+ *
+ * @author Daniel Baek
+ */
+public class ParallelSolver {
+    /**
+     * A configuration in the search, with the configuration it came from
+     *
+     * @param config = configuration
+     * @param parent = node it came from, null for the start
+     */
+    private record Node(Configuration config, Node parent) {}
+    /** queued tasks a worker may have before it searches the rest of a subtree itself */
+    private final static int SURPLUS = 3;
+    private final Configuration start;
+    /** number of workers, a pool of them is made for each solve */
+    private final int parallelism;
+    private final MoveOrdering ordering;
+    /** configurations whose every path was searched without finding a solution */
+    private final Set<Configuration> failed = ConcurrentHashMap.newKeySet();
+    private final AtomicReference<Node> found = new AtomicReference<>();
+    private final LongAdder count = new LongAdder();
+    private List<Configuration> path;
+    /** accepts configurations known to have no solution, which are not searched */
+    private Predicate<Configuration> prune = config -> false;
+    /**
+     * Creates a new solver using one worker per processor
+     *
+     * @param start = start configuration
+     */
+    public ParallelSolver(Configuration start) {
+        this(start, Runtime.getRuntime().availableProcessors());
+    }
+    /**
+     * Creates a new solver
+     *
+     * @param start = start configuration
+     * @param parallelism = number of workers
+     */
+    public ParallelSolver(Configuration start, int parallelism) {
+        this(start, parallelism, MoveOrdering.NATURAL);
+    }
+    /**
+     * Creates a new solver that tries neighbors in the given order
+     *
+     * @param start = start configuration
+     * @param parallelism = number of workers
+     * @param ordering = order to try the neighbors of each configuration in
+     */
+    public ParallelSolver(Configuration start, int parallelism, MoveOrdering ordering) {
+        this.start = start;
+        this.parallelism = parallelism;
+        this.ordering = ordering;
+        this.count.increment();
+    }
+    /**
+     * Skips configurations known to have no solution, such as ones found in a database of dead
+     * ends. Set it before solving.
+     *
+     * @param prune = accepts configurations with no solution
+     */
+    public void setPrune(Predicate<Configuration> prune) {
+        this.prune = prune;
+    }
+    public List<Configuration> getPath() {
+        return this.path;
+    }
+    /**
+     * Gets the number of configurations generated, including repeats
+     *
+     * @return count
+     */
+    public long getTotalConfigs() {
+        return this.count.sum();
+    }
+    /**
+     * Gets the number of configurations found to lead to no solution
+     *
+     * @return failed.size()
+     */
+    public int getFailedConfigs() {
+        return this.failed.size();
+    }
+    /**
+     * Searches until a worker finds a solution or every configuration has been searched
+     */
+    public void solve() {
+        ForkJoinPool pool = new ForkJoinPool(this.parallelism);
+        try {
+            pool.invoke(new Search(new Node(start, null)));
+        } finally {
+            pool.shutdown();
+        }
+        path = new LinkedList<>();
+        for (Node node = found.get(); node != null; node = node.parent()) {
+            path.add(0, node.config());
+        }
+    }
+    /**
+     * Searches the subtree under one configuration, handing its children to other workers
+     * while they are idle and searching them itself otherwise
+     */
+    private class Search extends RecursiveAction {
+        private final static long serialVersionUID = 1L;
+        private final Node node;
+        /**
+         * Creates the search of a subtree
+         *
+         * @param node = root of the subtree
+         */
+        private Search(Node node) {
+            this.node = node;
+        }
+        @Override
+        protected void compute() {
+            Configuration config = node.config();
+            if (found.get() != null || failed.contains(config) || prune.test(config)) {
+                return;
+            }
+            if (config.isSolution()) {
+                found.compareAndSet(null, node);
+                return;
+            }
+            if (getSurplusQueuedTaskCount() > SURPLUS) {
+                search(node);
+                return;
+            }
+            Collection<Configuration> neighbors = config.getNeighbors();
+            count.add(neighbors.size());
+            List<Search> children = new ArrayList<>(neighbors.size());
+            for (Configuration neighbor : ordering.order(config, neighbors)) {
+                children.add(new Search(new Node(neighbor, node)));
+            }
+            invokeAll(children);
+            if (found.get() == null) {
+                for (Search child : children) {
+                    ordering.failed(config, child.node.config());
+                }
+                failed.add(config);
+            }
+        }
+    }
+    /**
+     * Searches the subtree under one configuration on the current worker
+     *
+     * @param node = root of the subtree
+     * @return True if a solution was found, by this worker or another one, false otherwise
+     */
+    private boolean search(Node node) {
+        if (found.get() != null) {
+            return true;
+        }
+        Configuration config = node.config();
+        if (failed.contains(config) || prune.test(config)) {
+            return false;
+        }
+        if (config.isSolution()) {
+            found.compareAndSet(null, node);
+            return true;
+        }
+        Collection<Configuration> neighbors = config.getNeighbors();
+        count.add(neighbors.size());
+        for (Configuration neighbor : ordering.order(config, neighbors)) {
+            if (search(new Node(neighbor, node))) {
+                return true;
+            }
+            ordering.failed(config, neighbor);
+        }
+        failed.add(config);
+        return false;
+    }
+    public void display() {
+        display(System.out);
+    }
+    /**
+     * Prints the counts and every step of the path
+     *
+     * @param out = where to print
+     */
+    public void display(PrintStream out) {
+        out.println("Total configs: " + getTotalConfigs());
+        out.println("Failed configs: " + getFailedConfigs());
+        // If there is no path to the end configuration, "no solution" will be displayed
+        if (path.size() == 0) {
+            out.println("No solution");
+        }
+        // If there is a path, each step will be displayed
+        for (int i = 0; i < path.size(); i++) {
+            out.println("Step " + i + ": " + path.get(i));
+        }
+    }
+}
@@ -0,0 +1,25 @@
+package puzzles.common.solver;
+
+import java.util.List;
+
+/**
+ * A configuration whose state is made of independent components, where every move changes
+ * exactly one component and the configuration is a solution when every component is.
+ * The shortest path of such a puzzle is the shortest path of each component played one
+ * after another, so the components can be solved on their own by the ProductSolver.
+ */
+public interface ProductConfiguration extends Configuration {
+    /**
+     * Gets the independent sub-puzzles of the current configuration, each one a configuration
+     * that can be solved on its own
+     * @return the components, in the order their moves are played
+     */
+    List<Configuration> getComponents();
+
+    /**
+     * Builds the full configuration from a configuration of every component
+     * @param components one configuration per component, in the same order as getComponents
+     * @return the combined configuration
+     */
+    Configuration combine(List<Configuration> components);
+}
@@ -0,0 +1,72 @@
+package puzzles.common.solver;
+
+import java.util.ArrayList;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ *
+ * Solves a ProductConfiguration by solving each of its components on its own and
+ * joining their paths, so the work grows with the sum of the component sizes
+ * instead of their product
+ *
+ * @author Daniel Baek
+ */
+public class ProductSolver {
+    private final ProductConfiguration start;
+    private final boolean parallel;
+    private List<Configuration> path;
+    /**
+     * Creates a new solver that solves the components one at a time
+     *
+     * @param start = start configuration
+     */
+    public ProductSolver(ProductConfiguration start) {
+        this(start, false);
+    }
+    /**
+     * Creates a new solver
+     *
+     * @param start = start configuration
+     * @param parallel = True to solve the components at the same time
+     */
+    public ProductSolver(ProductConfiguration start, boolean parallel) {
+        this.start = start;
+        this.parallel = parallel;
+    }
+    public List<Configuration> getPath() {
+        return this.path;
+    }
+    /**
+     * Solves every component with the BFS Solver and plays their paths one after another,
+     * the first component first
+     */
+    public void solve() {
+        List<Configuration> components = start.getComponents();
+        Solver[] solvers = new Solver[components.size()];
+        IntStream indexes = IntStream.range(0, solvers.length);
+        if (parallel) {
+            indexes = indexes.parallel();
+        }
+        indexes.forEach(i -> {
+            solvers[i] = new Solver(components.get(i));
+            solvers[i].solve();
+        });
+        path = new LinkedList<>();
+        for (Solver solver : solvers) {
+            if (solver.getPath().isEmpty()) {
+                return;
+            }
+        }
+        path.add(start);
+        List<Configuration> current = new ArrayList<>(components);
+        for (int i = 0; i < solvers.length; i++) {
+            List<Configuration> steps = solvers[i].getPath();
+            for (int step = 1; step < steps.size(); step++) {
+                current.set(i, steps.get(step));
+                path.add(start.combine(current));
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for one level of the breadth first search of the Solver
+ *
+ * @author Daniel Baek
+ */
+@Name("puzzles.SearchLevel")
+@Label("Search Level")
+@Category({"Puzzles", "Solver"})
+@Description("Expanding every configuration at one depth of a breadth first search")
+class SearchLevelEvent extends Event {
+    @Label("Puzzle")
+    @Description("Class of the start configuration")
+    String puzzle;
+    @Label("Depth")
+    @Description("Moves from the start to the configurations of the level")
+    int depth;
+    @Label("Generated")
+    @Description("Configurations generated while expanding the level, including repeats")
+    int generated;
+    @Label("Added")
+    @Description("New configurations queued for the next level")
+    int added;
+    @Label("Unique")
+    @Description("Distinct configurations seen so far")
+    int unique;
+}
@@ -0,0 +1,36 @@
+package puzzles.common.solver;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for one run of the Solver, from the start of the search to the path
+ *
+ * @author Daniel Baek
+ */
+@Name("puzzles.Solve")
+@Label("Solve")
+@Category({"Puzzles", "Solver"})
+@Description("A breadth first solve, with the depth first fallback if the budget ran out")
+class SolveEvent extends Event {
+    @Label("Puzzle")
+    @Description("Class of the start configuration")
+    String puzzle;
+    @Label("Start Hash")
+    @Description("Hash code of the start configuration, to tell runs of the same puzzle apart")
+    int startHash;
+    @Label("Status")
+    String status;
+    @Label("Total Configs")
+    int totalConfigs;
+    @Label("Unique Configs")
+    int uniqueConfigs;
+    @Label("Path Length")
+    @Description("Moves in the path, -1 if none was found")
+    int pathLength;
+    @Label("Used Fallback")
+    boolean fallback;
+}
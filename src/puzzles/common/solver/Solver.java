@@ -1,9 +1,18 @@
 package puzzles.common.solver;
 
 import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Predicate;
+import jdk.jfr.FlightRecorder;
 
 /**
  *
@@ -12,11 +21,49 @@ import java.util.List;
  * @author Daniel Baek
  */
 public class Solver {
+    /**
+     * How a solve ended
+     */
+    public enum Status {
+        /** a path to a solution was found */
+        SOLVED,
+        /** every reachable configuration was seen and none is a solution */
+        NO_SOLUTION,
+        /** the budget of unique configurations ran out before a solution was found */
+        BUDGET_EXCEEDED
+    }
+    /**
+     * A configuration in the approximate search, with the configuration it came from
+     *
+     * @param config = configuration
+     * @param parent = node it came from, null for the start
+     */
+    private record Node(Configuration config, Node parent) {}
+    /** configurations the depth first fallback may generate per unit of budget before giving up */
+    private final static long FALLBACK_WORK = 100;
+    /** configurations the depth first fallback may remember as dead ends per unit of budget */
+    private final static long FALLBACK_MEMORY = 10;
     private final Configuration start;
     private Configuration end;
     private int count = 1;
+    private int unique = 0;
     private List<Configuration> path;
     private HashMap<Configuration, Configuration> predecessors;
+    /** the most unique configurations the BFS may store */
+    private int budget = Integer.MAX_VALUE;
+    /** the deepest the depth first fallback may search, 0 if there is no fallback */
+    private int fallbackDepth = 0;
+    private boolean fallback = false;
+    private Status status;
+    /** accepts configurations known to have no solution, which are not searched */
+    private Predicate<Configuration> prune = config -> false;
+    private int pruned = 0;
+    /** chance of the approximate visited filter taking a new configuration for a seen one, 0 for an exact search */
+    private double errorRate = 0;
+    private long expectedConfigs;
+    private BloomFilter visited;
+    /** whether flight recorder events are made, so no flight recorder class is loaded while it is off */
+    private boolean recording;
     /**
      * Creates a new solver, only storing the start Configuration
      *
@@ -26,17 +73,137 @@ public class Solver {
         this.start = start;
         this.end = null;
     }
+    /**
+     * Limits the number of unique configurations the BFS may store. When the limit is reached
+     * the BFS stops, and the depth first fallback is used if there is one.
+     *
+     * @param budget = most unique configurations to store
+     */
+    public void setBudget(int budget) {
+        this.budget = budget;
+    }
+    /**
+     * Sets up a depth first search to use once the budget is reached. It keeps the
+     * configurations on the current path and, up to ten times the budget, the ones it found to
+     * lead nowhere so they are not searched again. It gives up, leaving the puzzle unsolved,
+     * after generating a hundred configurations per unit of budget. The path it finds may not
+     * be the shortest.
+     *
+     * @param fallbackDepth = the longest path the fallback may try, 0 for no fallback
+     */
+    public void setFallbackDepth(int fallbackDepth) {
+        this.fallbackDepth = fallbackDepth;
+    }
+    /**
+     * Skips configurations known to have no solution, such as ones found in a database of dead
+     * ends. Only configurations with no solution may be accepted, so the path stays the shortest.
+     *
+     * @param prune = accepts configurations with no solution
+     */
+    public void setPrune(Predicate<Configuration> prune) {
+        this.prune = prune;
+    }
+    /**
+     * Keeps the seen configurations in a Bloom filter over their fingerprints instead of a map
+     * from each one to its predecessor, and only keeps the configurations of the next level
+     * and the ones on their paths back to the start. This takes far less memory, but each new
+     * configuration has a small chance of being taken for one already seen and skipped, so a
+     * path may be missed or be longer than the shortest.
+     *
+     * @param errorRate = chance of skipping a new configuration, 0 for an exact search
+     * @param expectedConfigs = number of unique configurations the filter is sized for
+     */
+    public void setApproximate(double errorRate, long expectedConfigs) {
+        this.errorRate = errorRate;
+        this.expectedConfigs = expectedConfigs;
+    }
+    /**
+     * Gets the number of configurations skipped by the prune
+     *
+     * @return pruned
+     */
+    public int getPrunedConfigs() {
+        return this.pruned;
+    }
     public List<Configuration> getPath() {
         return this.path;
     }
     /**
-     * Performs breadth first search and creates the shortest path to the end configuration
+     * Gets how the last solve ended
+     *
+     * @return status
+     */
+    public Status getStatus() {
+        return this.status;
+    }
+    /**
+     * Checks if the path was found by the depth first fallback
+     *
+     * @return True if the budget was reached and the fallback was used, false otherwise
+     */
+    public boolean usedFallback() {
+        return this.fallback;
+    }
+    /**
+     * Gets the number of configurations generated, including repeats
+     *
+     * @return count
+     */
+    public int getTotalConfigs() {
+        return this.count;
+    }
+    /**
+     * Gets the number of distinct configurations seen
+     *
+     * @return unique
+     */
+    public int getUniqueConfigs() {
+        return this.unique;
+    }
+    /**
+     * Performs breadth first search and creates the shortest path to the end configuration.
+     * The solve and each level of the search are recorded as flight recorder events.
      */
     public void solve() {
+        recording = FlightRecorder.isInitialized();
+        SolveEvent event = null;
+        if (recording) {
+            event = new SolveEvent();
+            event.begin();
+        }
+        if (errorRate > 0) {
+            approximateBreadthFirst();
+        } else {
+            breadthFirst();
+        }
+        if (event != null && event.shouldCommit()) {
+            event.puzzle = start.getClass().getName();
+            event.startHash = start.hashCode();
+            event.status = status.name();
+            event.totalConfigs = count;
+            event.uniqueConfigs = unique;
+            event.pathLength = path.isEmpty() ? -1 : path.size() - 1;
+            event.fallback = fallback;
+            event.commit();
+        }
+    }
+    /**
+     * Performs breadth first search and creates the shortest path to the end configuration,
+     * using the depth first fallback if the budget runs out
+     */
+    private void breadthFirst() {
         List<Configuration> queue = new LinkedList<>();
         queue.add(start);
         predecessors = new HashMap<>();
         predecessors.put(start, null);
+        boolean exceeded = false;
+        // the queue holds the rest of one level followed by the part of the next level found so far
+        int depth = 0;
+        int levelLeft = 1;
+        int nextLevel = 0;
+        SearchLevelEvent level = beginLevel();
+        int levelCount = count;
+        search:
         while (!queue.isEmpty()) {
             Configuration current = queue.remove(0);
             if (current.isSolution()) {
@@ -46,12 +213,46 @@ public class Solver {
             for (Configuration config : current.getNeighbors()) {
                 count += 1;
                 if (!predecessors.containsKey(config)) {
+                    if (prune.test(config)) {
+                        pruned += 1;
+                        continue;
+                    }
+                    if (predecessors.size() >= budget) {
+                        exceeded = true;
+                        break search;
+                    }
                     predecessors.put(config, current);
                     queue.add(config);
+                    nextLevel += 1;
                 }
             }
+            levelLeft -= 1;
+            if (levelLeft == 0) {
+                commitLevel(level, depth, count - levelCount, nextLevel, predecessors.size());
+                depth += 1;
+                levelLeft = nextLevel;
+                nextLevel = 0;
+                level = beginLevel();
+                levelCount = count;
+            }
+        }
+        if (levelLeft > 0) {
+            // the search stopped partway through a level
+            commitLevel(level, depth, count - levelCount, nextLevel, predecessors.size());
         }
+        unique = predecessors.size();
         path = new LinkedList<>();
+        if (exceeded) {
+            // free the BFS before searching again
+            queue = null;
+            predecessors = null;
+            status = Status.BUDGET_EXCEEDED;
+            if (fallbackDepth > 0) {
+                fallback = true;
+                depthFirst();
+            }
+            return;
+        }
         if (predecessors.containsKey(end)) {
             Configuration current = end;
             while (current != start) {
@@ -59,18 +260,222 @@ public class Solver {
                 current = predecessors.get(current);
             }
             path.add(0, start);
+            status = Status.SOLVED;
+        } else {
+            status = Status.NO_SOLUTION;
+        }
+    }
+    /**
+     * Performs breadth first search one level at a time, keeping seen configurations in a
+     * Bloom filter. Each configuration of the next level keeps a link to the one it came from,
+     * so the path is found by following the links back from the end, and configurations with
+     * no descendant left in the next level are freed.
+     */
+    private void approximateBreadthFirst() {
+        visited = new BloomFilter(expectedConfigs, errorRate);
+        visited.add(start.fingerprint());
+        unique = 1;
+        List<Node> frontier = new ArrayList<>();
+        frontier.add(new Node(start, null));
+        Node goal = null;
+        boolean exceeded = false;
+        int depth = 0;
+        search:
+        while (!frontier.isEmpty()) {
+            SearchLevelEvent level = beginLevel();
+            int levelCount = count;
+            List<Node> next = new ArrayList<>();
+            for (Node node : frontier) {
+                if (node.config().isSolution()) {
+                    goal = node;
+                    commitLevel(level, depth, count - levelCount, next.size(), unique);
+                    break search;
+                }
+                for (Configuration config : node.config().getNeighbors()) {
+                    count += 1;
+                    if (visited.add(config.fingerprint())) {
+                        if (prune.test(config)) {
+                            pruned += 1;
+                            continue;
+                        }
+                        if (unique >= budget) {
+                            exceeded = true;
+                            commitLevel(level, depth, count - levelCount, next.size(), unique);
+                            break search;
+                        }
+                        unique += 1;
+                        next.add(new Node(config, node));
+                    }
+                }
+            }
+            commitLevel(level, depth, count - levelCount, next.size(), unique);
+            frontier = next;
+            depth += 1;
+        }
+        path = new LinkedList<>();
+        if (exceeded) {
+            frontier = null;
+            status = Status.BUDGET_EXCEEDED;
+            if (fallbackDepth > 0) {
+                fallback = true;
+                depthFirst();
+            }
+        } else if (goal != null) {
+            for (Node node = goal; node != null; node = node.parent()) {
+                path.add(0, node.config());
+            }
+            status = Status.SOLVED;
+        } else {
+            status = Status.NO_SOLUTION;
+        }
+    }
+    /**
+     * Starts timing a level of the breadth first search if recording is on
+     *
+     * @return event of the level, null if recording is off
+     */
+    private SearchLevelEvent beginLevel() {
+        if (!recording) {
+            return null;
+        }
+        SearchLevelEvent level = new SearchLevelEvent();
+        level.begin();
+        return level;
+    }
+    /**
+     * Records one level of the breadth first search if recording is on
+     *
+     * @param level = event begun when the level started, null if recording is off
+     * @param depth = moves from the start to the configurations of the level
+     * @param generated = configurations generated while expanding the level
+     * @param added = new configurations queued for the next level
+     * @param unique = distinct configurations seen so far
+     */
+    private void commitLevel(SearchLevelEvent level, int depth, int generated, int added, int unique) {
+        if (level != null && level.shouldCommit()) {
+            level.puzzle = start.getClass().getName();
+            level.depth = depth;
+            level.generated = generated;
+            level.added = added;
+            level.unique = unique;
+            level.commit();
+        }
+    }
+    /**
+     * Performs depth first search and stores the first path it finds to a solution. A
+     * configuration whose moves ran out without a solution is remembered with the depth that
+     * was left below it, so reaching it again with no more depth left skips it, unless its
+     * search skipped a configuration on the path, which another path might not have to.
+     */
+    private void depthFirst() {
+        List<Configuration> trail = new ArrayList<>();
+        // the configurations of the trail, to check for cycles without scanning it
+        Set<Configuration> onTrail = new HashSet<>();
+        List<Iterator<Configuration>> stack = new ArrayList<>();
+        // whether the search under each configuration of the trail skipped one on the trail
+        List<Boolean> cut = new ArrayList<>();
+        // configurations that lead nowhere, with the depth that was left below them
+        Map<Configuration, Integer> failed = new HashMap<>();
+        trail.add(start);
+        onTrail.add(start);
+        cut.add(false);
+        stack.add(start.getNeighbors().iterator());
+        if (start.isSolution()) {
+            stack.clear();
+        }
+        long limit = count + FALLBACK_WORK * budget;
+        while (!stack.isEmpty()) {
+            if (count >= limit) {
+                // too much work past the budget, the puzzle is left unsolved
+                trail.clear();
+                break;
+            }
+            Iterator<Configuration> neighbors = stack.get(stack.size() - 1);
+            if (!neighbors.hasNext()) {
+                int last = stack.size() - 1;
+                stack.remove(last);
+                Configuration done = trail.remove(last);
+                onTrail.remove(done);
+                if (cut.remove(last)) {
+                    if (last > 0) {
+                        cut.set(last - 1, true);
+                    }
+                } else if (failed.size() < FALLBACK_MEMORY * budget) {
+                    failed.merge(done, fallbackDepth - last, Math::max);
+                }
+                continue;
+            }
+            Configuration config = neighbors.next();
+            count += 1;
+            // skip configurations already on the path so cycles are not followed
+            if (onTrail.contains(config)) {
+                cut.set(cut.size() - 1, true);
+                continue;
+            }
+            Integer searched = failed.get(config);
+            if (searched != null && searched >= fallbackDepth - trail.size()) {
+                continue;
+            }
+            if (prune.test(config)) {
+                pruned += 1;
+                continue;
+            }
+            trail.add(config);
+            onTrail.add(config);
+            cut.add(false);
+            if (config.isSolution()) {
+                break;
+            }
+            if (trail.size() > fallbackDepth) {
+                stack.add(Collections.emptyIterator());
+            } else {
+                stack.add(config.getNeighbors().iterator());
+            }
+        }
+        if (!trail.isEmpty()) {
+            path.addAll(trail);
+            status = Status.SOLVED;
         }
     }
     public void display() {
-        System.out.println("Total configs: " + count);
-        System.out.println("Unique configs: " + predecessors.size());
+        display(System.out);
+    }
+    /**
+     * Prints the counts and every step of the path
+     *
+     * @param out = where to print
+     */
+    public void display(PrintStream out) {
+        displayCounts(out);
         // If there is no path to the end configuration, "no solution" will be displayed
         if (path.size() == 0) {
-            System.out.println("No solution");
+            out.println("No solution");
         }
         // If there is a path, each step will be displayed
         for (int i = 0; i < path.size(); i++) {
-            System.out.println("Step " + i + ": " + path.get(i));
+            out.println("Step " + i + ": " + path.get(i));
+        }
+    }
+    /**
+     * Prints the counts and how the budget was used, without the path, for puzzles that print
+     * their path themselves
+     *
+     * @param out = where to print
+     */
+    public void displayCounts(PrintStream out) {
+        out.println("Total configs: " + count);
+        out.println("Unique configs: " + unique);
+        if (pruned > 0) {
+            out.println("Pruned configs: " + pruned);
+        }
+        if (visited != null) {
+            out.println("Approximate: " + visited.getBits() / 8 + " byte visited filter, "
+                    + visited.getHashes() + " hashes, error rate " + errorRate);
+        }
+        if (status == Status.BUDGET_EXCEEDED) {
+            out.println("Budget exceeded: stopped after " + budget + " unique configs");
+        } else if (fallback) {
+            out.println("Budget exceeded: path found by depth first search after " + budget + " unique configs");
         }
     }
-}
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,306 @@
+package puzzles.harness;
+
+import puzzles.chess.ptui.ChessPTUI;
+import puzzles.chess.solver.Chess;
+import puzzles.clock.Clock;
+import puzzles.hoppers.ptui.HoppersPTUI;
+import puzzles.hoppers.solver.Hoppers;
+import puzzles.strings.Strings;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Runs every puzzle that has a transcript in the output directory and checks the result against it.
+ * Hoppers and Chess puzzles are read from data/hoppers and data/chess, and the Clock and Strings
+ * arguments are taken from the transcript names, e.g. clock-12-2-11-out.txt runs "Clock 12 2 11".
+ * The PTUI transcripts are replayed with the commands in input, e.g. chess-4-ptui-out.txt runs the
+ * Chess PTUI on chess-4 with input/chess-4-ptui-in.txt. The help a PTUI prints may list commands
+ * added since its transcript was saved, so help lines the transcript does not have are left out.
+ *
+ * A run passes only if its output matches the transcript, ignoring blank lines and spacing. A run
+ * whose counts and number of steps match but whose path goes through other boards fails as PATH,
+ * apart from DIFF, since a change in the order moves are tried in is a change in behavior even
+ * when the path is still a shortest one.
+ *
+ * The wall time and unique configurations of every run are added to a history file. A run fails
+ * if its throughput, unique configurations per second, falls more than the threshold below the
+ * median of its earlier runs in the history, build/harness-history.csv unless another is given.
+ *
+ * @author Daniel Baek
+ */
+public class RegressionHarness {
+    /** a solver program, run through its main method */
+    private interface Program {
+        void run(String[] args) throws Exception;
+    }
+    /** the history file used when none is given */
+    private final static String DEFAULT_HISTORY = "build/harness-history.csv";
+    /** the throughput drop, as a fraction of the median, that fails a run when none is given */
+    private final static double DEFAULT_THRESHOLD = 0.25;
+    /** times each puzzle is run, the fastest time is kept so one slow run is not a regression */
+    private final static int REPEATS = 3;
+    /** runs faster than this are too short to time, so their throughput is not checked */
+    private final static long MIN_NANOS = 5_000_000;
+    /** earlier runs of a puzzle the median is taken over */
+    private final static int HISTORY_RUNS = 10;
+    private final File output;
+    private final File history;
+    private final double threshold;
+    /** earlier throughputs by puzzle, oldest first */
+    private final Map<String, List<Double>> previous = new HashMap<>();
+    private int failures = 0;
+
+    /**
+     * Creates the harness
+     *
+     * @param output = directory of transcripts, one subdirectory per puzzle
+     * @param history = file runs are added to
+     * @param threshold = largest allowed throughput drop, as a fraction of the median
+     */
+    public RegressionHarness(File output, File history, double threshold) throws IOException {
+        this.output = output;
+        this.history = history;
+        this.threshold = threshold;
+        if (history.exists()) {
+            for (String line : Files.readAllLines(history.toPath())) {
+                // time,puzzle,millis,unique,throughput
+                String[] field = line.split(",");
+                if (field.length == 5 && !field[0].equals("time")) {
+                    previous.computeIfAbsent(field[1], k -> new ArrayList<>()).add(Double.parseDouble(field[4]));
+                }
+            }
+        }
+    }
+
+    /**
+     * Runs every puzzle with a transcript and prints a line per puzzle
+     *
+     * @return True if every run passed, false otherwise
+     */
+    public boolean run() throws IOException {
+        boolean newHistory = !history.exists();
+        File parent = history.getAbsoluteFile().getParentFile();
+        if (parent != null && !parent.isDirectory() && !parent.mkdirs()) {
+            throw new IOException("Cannot create " + parent);
+        }
+        try (PrintWriter log = new PrintWriter(new FileWriter(history, true))) {
+            if (newHistory) {
+                log.println("time,puzzle,millis,unique,throughput");
+            }
+            String time = Instant.now().toString();
+            System.out.printf("%-28s %-8s %10s %10s %14s%n", "Puzzle", "Result", "Millis", "Unique", "Unique/sec");
+            for (String puzzle : new String[]{"hoppers", "clock", "strings", "chess"}) {
+                String[] names = new File(output, puzzle).list((dir, name) -> name.endsWith("-out.txt"));
+                if (names == null) {
+                    continue;
+                }
+                Arrays.sort(names);
+                for (String name : names) {
+                    check(puzzle, name, time, log);
+                }
+            }
+        }
+        System.out.println(failures == 0 ? "All runs passed" : failures + " run(s) failed");
+        return failures == 0;
+    }
+
+    /**
+     * Runs the puzzle of one transcript, compares and times it, and adds it to the history
+     *
+     * @param puzzle = kind of puzzle
+     * @param name = file name of the transcript
+     * @param time = time the harness started, for the history
+     * @param log = history
+     */
+    private void check(String puzzle, String name, String time, PrintWriter log) throws IOException {
+        String id = name.substring(0, name.length() - "-out.txt".length());
+        String[] part = id.split("-");
+        Program program;
+        String[] args;
+        String input = null;
+        if (puzzle.equals("hoppers") && part.length == 2) {
+            program = Hoppers::main;
+            args = new String[]{"data/hoppers/" + id + ".txt"};
+        } else if (puzzle.equals("hoppers") && part.length == 3 && part[2].equals("ptui")) {
+            program = HoppersPTUI::main;
+            args = new String[]{"data/hoppers/" + part[0] + "-" + part[1] + ".txt"};
+            input = Files.readString(new File("input", id + "-in.txt").toPath());
+        } else if (puzzle.equals("chess") && part.length == 2) {
+            program = Chess::main;
+            args = new String[]{"data/chess/" + id + ".txt"};
+        } else if (puzzle.equals("chess") && part.length == 3 && part[2].equals("ptui")) {
+            program = ChessPTUI::main;
+            args = new String[]{"data/chess/" + part[0] + "-" + part[1] + ".txt"};
+            input = Files.readString(new File("input", id + "-in.txt").toPath());
+        } else if (puzzle.equals("clock") && part.length == 4) {
+            program = Clock::main;
+            args = Arrays.copyOfRange(part, 1, 4);
+        } else if (puzzle.equals("strings") && part.length == 3) {
+            program = Strings::main;
+            args = Arrays.copyOfRange(part, 1, 3);
+        } else {
+            // interactive transcripts
+            System.out.printf("%-28s %-8s%n", id, "skipped");
+            return;
+        }
+        String result = null;
+        long best = Long.MAX_VALUE;
+        for (int i = 0; i < REPEATS; i++) {
+            long begin = System.nanoTime();
+            result = capture(program, args, input);
+            best = Math.min(best, System.nanoTime() - begin);
+        }
+        List<String> actual = lines(result);
+        List<String> expected = lines(Files.readString(new File(new File(output, puzzle), name).toPath()));
+        // transcripts saved from an IDE start with the command line that ran the program
+        int first = actual.isEmpty() ? -1 : expected.indexOf(actual.get(0));
+        if (first > 0) {
+            expected = expected.subList(first, expected.size());
+        }
+        if (input != null) {
+            // help lines, e.g. "h(int) -- hint next move", of commands the transcript predates
+            List<String> known = expected;
+            actual.removeIf(line -> line.matches("\\w\\(\\w+\\).*--.*") && !known.contains(line));
+        }
+        String verdict;
+        if (actual.equals(expected)) {
+            verdict = "ok";
+        } else if (summary(actual).equals(summary(expected))) {
+            verdict = "PATH";
+        } else {
+            verdict = "DIFF";
+        }
+        int unique = 0;
+        for (String line : actual) {
+            // lines have no spacing left, see lines
+            if (line.startsWith("Uniqueconfigs:")) {
+                unique = Integer.parseInt(line.substring("Uniqueconfigs:".length()));
+            }
+        }
+        double throughput = unique / (best / 1e9);
+        String rate = "-";
+        // a replayed PTUI prints no counts, so it has no throughput
+        if (best >= MIN_NANOS && unique > 0) {
+            rate = String.format("%.0f", throughput);
+            Double median = median(previous.get(id));
+            if (median != null && throughput < median * (1 - threshold)) {
+                verdict = verdict.equals("ok") ? "SLOW" : verdict;
+                rate += String.format(" (median %.0f)", median);
+            }
+            log.println(time + "," + id + "," + best / 1_000_000 + "," + unique + "," + String.format("%.1f", throughput));
+        }
+        if (!verdict.equals("ok")) {
+            failures += 1;
+        }
+        System.out.printf("%-28s %-8s %10.1f %10d %14s%n", id, verdict, best / 1e6, unique, rate);
+    }
+
+    /**
+     * Runs a program and collects what it prints
+     *
+     * @param program = program
+     * @param args = arguments of the program
+     * @param input = what the program reads, null if it reads nothing
+     * @return everything the program printed
+     */
+    private static String capture(Program program, String[] args, String input) {
+        PrintStream console = System.out;
+        InputStream keyboard = System.in;
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        System.setOut(new PrintStream(bytes, true, StandardCharsets.UTF_8));
+        if (input != null) {
+            System.setIn(new ByteArrayInputStream(input.getBytes(StandardCharsets.UTF_8)));
+        }
+        try {
+            program.run(args);
+        } catch (Exception e) {
+            System.out.println("Exception: " + e);
+        } finally {
+            System.setOut(console);
+            System.setIn(keyboard);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Splits text into lines without spacing, dropping blank lines
+     *
+     * @param text = text
+     * @return lines
+     */
+    private static List<String> lines(String text) {
+        List<String> lines = new ArrayList<>();
+        for (String line : text.split("\\R")) {
+            String stripped = line.replaceAll("\\s+", "");
+            if (!stripped.isEmpty()) {
+                lines.add(stripped);
+            }
+        }
+        return lines;
+    }
+
+    /**
+     * Gets the lines of an output that every shortest path has in common: everything before the
+     * first step, and the number of steps
+     *
+     * @param lines = lines of the output, without spacing
+     * @return summary lines
+     */
+    private static List<String> summary(List<String> lines) {
+        List<String> summary = new ArrayList<>();
+        int steps = 0;
+        for (String line : lines) {
+            if (line.startsWith("Step")) {
+                steps += 1;
+            } else if (steps == 0) {
+                summary.add(line);
+            }
+        }
+        summary.add("Steps:" + steps);
+        return summary;
+    }
+
+    /**
+     * Gets the median of the latest earlier throughputs
+     *
+     * @param runs = earlier throughputs, oldest first, may be null
+     * @return median, or null if there are none
+     */
+    private static Double median(List<Double> runs) {
+        if (runs == null || runs.isEmpty()) {
+            return null;
+        }
+        List<Double> latest = new ArrayList<>(runs.subList(Math.max(0, runs.size() - HISTORY_RUNS), runs.size()));
+        Collections.sort(latest);
+        return latest.get(latest.size() / 2);
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length > 2) {
+            System.out.println("Usage: java RegressionHarness [history [threshold]]");
+            return;
+        }
+        File history = new File(args.length > 0 ? args[0] : DEFAULT_HISTORY);
+        double threshold = args.length > 1 ? Double.parseDouble(args[1]) : DEFAULT_THRESHOLD;
+        RegressionHarness harness = new RegressionHarness(new File("output"), history, threshold);
+        if (!harness.run()) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+package puzzles.hoppers.generator;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Generates random Hoppers puzzles that are always solvable.
+ * The generator starts from a board holding a single red frog and plays
+ * reverse jumps ("un-jumps"): a frog moves back from where it landed to where
+ * it jumped from, and a green frog reappears on the cell it was jumped over.
+ * Every un-jump adds exactly one green frog, so a board with n green frogs has
+ * a solution of exactly n jumps, and replaying the un-jumps forward solves it.
+ *
+ * @author Daniel Baek
+ */
+public class HoppersGenerator {
+    public final static char LILYPAD = '.';
+    public final static char WATER = '*';
+    public final static char GREENFROG = 'G';
+    public final static char REDFROG = 'R';
+    /** Number of fresh attempts before giving up on a board */
+    private final static int MAX_ATTEMPTS = 1000;
+    /** Diagonal jump directions, any frog may use these */
+    private final static int[][] DIAGONALS = {{-1, -1}, {1, 1}, {-1, 1}, {1, -1}};
+    /** Horizontal and vertical jump directions, only used on even rows and cols */
+    private final static int[][] STRAIGHTS = {{2, 0}, {-2, 0}, {0, -2}, {0, 2}};
+    private final int rowDIM;
+    private final int colDIM;
+    private final Random random;
+    /**
+     * Creates a generator for boards of the given size
+     *
+     * @param rowDIM = number of rows
+     * @param colDIM = number of cols
+     * @param random = source of randomness
+     */
+    public HoppersGenerator(int rowDIM, int colDIM, Random random) {
+        if (rowDIM < 1 || colDIM < 1) {
+            throw new IllegalArgumentException("Board must be at least 1x1");
+        }
+        this.rowDIM = rowDIM;
+        this.colDIM = colDIM;
+        this.random = random;
+    }
+    /**
+     * Generates a board with the given number of green frogs. Because every jump removes
+     * one green frog, this is also the depth of the board's solution.
+     *
+     * @param greens = number of green frogs, also the solution depth
+     * @return board in the same layout HoppersConfig reads
+     */
+    public char[][] generate(int greens) {
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            char[][] board = emptyBoard();
+            List<int[]> pads = new ArrayList<>();
+            for (int r = 0; r < rowDIM; r++) {
+                for (int c = 0; c < colDIM; c++) {
+                    if (board[r][c] == LILYPAD) {
+                        pads.add(new int[]{r, c});
+                    }
+                }
+            }
+            int[] red = pads.get(random.nextInt(pads.size()));
+            board[red[0]][red[1]] = REDFROG;
+            List<int[]> frogs = new ArrayList<>();
+            frogs.add(red);
+            int placed = 0;
+            while (placed < greens && unJump(board, frogs)) {
+                placed += 1;
+            }
+            if (placed == greens) {
+                return board;
+            }
+        }
+        throw new IllegalStateException("Could not place " + greens + " green frogs on a "
+                + rowDIM + "x" + colDIM + " board");
+    }
+    /**
+     * Performs one random reverse jump on the board
+     *
+     * @param board = board to change
+     * @param frogs = positions of all frogs on the board, updated in place
+     * @return True if a reverse jump was made, false if no frog can move back
+     */
+    private boolean unJump(char[][] board, List<int[]> frogs) {
+        List<int[]> moves = new ArrayList<>();
+        for (int f = 0; f < frogs.size(); f++) {
+            int row = frogs.get(f)[0];
+            int col = frogs.get(f)[1];
+            for (int[] d : DIAGONALS) {
+                addIfOpen(board, moves, f, row, col, d);
+            }
+            if (row % 2 == 0 && col % 2 == 0) {
+                for (int[] d : STRAIGHTS) {
+                    addIfOpen(board, moves, f, row, col, d);
+                }
+            }
+        }
+        if (moves.isEmpty()) {
+            return false;
+        }
+        int[] move = moves.get(random.nextInt(moves.size()));
+        int[] frog = frogs.get(move[0]);
+        int overRow = frog[0] + move[1];
+        int overCol = frog[1] + move[2];
+        int fromRow = overRow + move[1];
+        int fromCol = overCol + move[2];
+        board[fromRow][fromCol] = board[frog[0]][frog[1]];
+        board[overRow][overCol] = GREENFROG;
+        board[frog[0]][frog[1]] = LILYPAD;
+        frogs.set(move[0], new int[]{fromRow, fromCol});
+        frogs.add(new int[]{overRow, overCol});
+        return true;
+    }
+    /**
+     * Adds the reverse jump of a frog in the given direction if both cells behind it are free lily pads
+     *
+     * @param board = board
+     * @param moves = list of (frog index, row step, col step) to add to
+     * @param f = index of the frog
+     * @param row = row of the frog
+     * @param col = col of the frog
+     * @param d = direction to move back in
+     */
+    private void addIfOpen(char[][] board, List<int[]> moves, int f, int row, int col, int[] d) {
+        int fromRow = row + 2 * d[0];
+        int fromCol = col + 2 * d[1];
+        if (fromRow < 0 || fromRow >= rowDIM || fromCol < 0 || fromCol >= colDIM) {
+            return;
+        }
+        if (board[row + d[0]][col + d[1]] == LILYPAD && board[fromRow][fromCol] == LILYPAD) {
+            moves.add(new int[]{f, d[0], d[1]});
+        }
+    }
+    /**
+     * Creates a board with lily pads on every cell whose row and col add up to an even number
+     *
+     * @return board
+     */
+    private char[][] emptyBoard() {
+        char[][] board = new char[rowDIM][colDIM];
+        for (int r = 0; r < rowDIM; r++) {
+            Arrays.fill(board[r], WATER);
+            for (int c = r % 2; c < colDIM; c += 2) {
+                board[r][c] = LILYPAD;
+            }
+        }
+        return board;
+    }
+    /**
+     * Writes the board in the hoppers file format
+     *
+     * @param board = board
+     * @param out = destination
+     */
+    public static void write(char[][] board, Writer out) {
+        PrintWriter writer = new PrintWriter(out);
+        writer.println(board.length + " " + board[0].length);
+        for (char[] row : board) {
+            StringBuilder line = new StringBuilder();
+            for (int c = 0; c < row.length; c++) {
+                if (c != 0) {
+                    line.append(' ');
+                }
+                line.append(row[c]);
+            }
+            writer.println(line);
+        }
+        writer.flush();
+    }
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3) {
+            System.out.println("Usage: java HoppersGenerator rows cols greens [count outdir [seed]]");
+        } else {
+            int rows = Integer.parseInt(args[0]);
+            int cols = Integer.parseInt(args[1]);
+            int greens = Integer.parseInt(args[2]);
+            Random random = args.length > 5 ? new Random(Long.parseLong(args[5])) : new Random();
+            HoppersGenerator generator = new HoppersGenerator(rows, cols, random);
+            if (args.length < 5) {
+                write(generator.generate(greens), new PrintWriter(System.out));
+            } else {
+                int count = Integer.parseInt(args[3]);
+                for (int i = 0; i < count; i++) {
+                    String file = args[4] + "/hoppers-" + rows + "x" + cols + "-" + greens + "-" + i + ".txt";
+                    try (FileWriter out = new FileWriter(file)) {
+                        write(generator.generate(greens), out);
+                    }
+                    System.out.println("Wrote: " + file);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package puzzles.hoppers.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a board read from a file by the HoppersModel
+ *
+ * @author Daniel Baek
+ */
+@Name("puzzles.hoppers.BoardLoad")
+@Label("Hoppers Board Load")
+@Category({"Puzzles", "Hoppers"})
+@Description("Reading and parsing a puzzle file")
+class BoardLoadEvent extends Event {
+    @Label("File")
+    String file;
+    @Label("Rows")
+    int rows;
+    @Label("Cols")
+    int cols;
+    @Label("Loaded")
+    @Description("False if the file could not be read")
+    boolean loaded;
+}
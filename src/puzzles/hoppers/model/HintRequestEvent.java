@@ -0,0 +1,28 @@
+package puzzles.hoppers.model;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Flight recorder event for a hint asked of the HoppersModel
+ *
+ * @author Daniel Baek
+ */
+@Name("puzzles.hoppers.Hint")
+@Label("Hoppers Hint")
+@Category({"Puzzles", "Hoppers"})
+@Description("Finding the next jump of a solution from the current board")
+class HintRequestEvent extends Event {
+    @Label("Rows")
+    int rows;
+    @Label("Cols")
+    int cols;
+    @Label("Search")
+    @Description("Search that found the hint: beam or full, none if neither did")
+    String search;
+    @Label("Found")
+    boolean found;
+}
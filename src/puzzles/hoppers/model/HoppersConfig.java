@@ -3,7 +3,10 @@ package puzzles.hoppers.model;
 import java.io.BufferedReader;
 import java.io.FileReader;
 import java.io.IOException;
+import java.io.StringReader;
 import java.util.*;
+import java.util.stream.Collectors;
+import puzzles.common.Coordinates;
 import puzzles.common.solver.Configuration;
 
 /**
@@ -22,13 +25,24 @@ public class HoppersConfig implements Configuration{
     private final int colDIM;
     private int numGreen;
     private final char[][] board;
+    /** the cells the jump that made this configuration went from and to, -1 if there was none */
+    private int lastFrom = -1;
+    private int lastTo = -1;
     /**
      * Creates HoppersConfig
      *
      * @param filename = file
      */
     public HoppersConfig(String filename) throws IOException {
-        try (BufferedReader in = new BufferedReader(new FileReader(filename))) {
+        this(readFile(filename));
+    }
+    /**
+     * Creates HoppersConfig from text in the hoppers file format
+     *
+     * @param in = text of the puzzle, closed once read
+     */
+    public HoppersConfig(BufferedReader in) throws IOException {
+        try (in) {
             String[] DIM = in.readLine().split(" ");
             rowDIM = Integer.parseInt(DIM[0]);
             colDIM = Integer.parseInt(DIM[1]);
@@ -54,6 +68,17 @@ public class HoppersConfig implements Configuration{
 
         }
     }
+    /**
+     * Reads a whole file so the reader over it can be closed right away
+     *
+     * @param filename = file
+     * @return reader over the text of the file
+     */
+    private static BufferedReader readFile(String filename) throws IOException {
+        try (BufferedReader in = new BufferedReader(new FileReader(filename))) {
+            return new BufferedReader(new StringReader(in.lines().collect(Collectors.joining(System.lineSeparator()))));
+        }
+    }
     /**
      * Copy constructor, used to make neighbors
      *
@@ -86,6 +111,119 @@ public class HoppersConfig implements Configuration{
     public boolean isSolution() {
         return numGreen == 0;
     }
+    /**
+     * Checks if a frog may jump from one cell to another. Diagonal jumps go two cells, and
+     * horizontal and vertical jumps go four cells from an even row and col. Either way the
+     * cell halfway must hold a green frog and the landing cell must be a lily pad.
+     *
+     * @param fromRow = row of the jumping frog
+     * @param fromCol = col of the jumping frog
+     * @param toRow = row to land on
+     * @param toCol = col to land on
+     * @return True if the jump is allowed, false otherwise
+     */
+    public boolean isLegalJump(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!isFrog(fromRow, fromCol) || toRow < 0 || toRow >= rowDIM || toCol < 0 || toCol >= colDIM
+                || this.board[toRow][toCol] != LILYPAD) {
+            return false;
+        }
+        int rowStep = Math.abs(toRow - fromRow);
+        int colStep = Math.abs(toCol - fromCol);
+        boolean diagonal = rowStep == 2 && colStep == 2;
+        boolean straight = fromRow % 2 == 0 && fromCol % 2 == 0
+                && ((rowStep == 4 && colStep == 0) || (rowStep == 0 && colStep == 4));
+        return (diagonal || straight) && this.board[(fromRow + toRow) / 2][(fromCol + toCol) / 2] == GREENFROG;
+    }
+    /**
+     * Makes the configuration after a single jump, without looking at any other jump
+     *
+     * @param fromRow = row of the jumping frog
+     * @param fromCol = col of the jumping frog
+     * @param toRow = row to land on
+     * @param toCol = col to land on
+     * @return the new configuration, or null if the jump is not allowed
+     */
+    public HoppersConfig jump(int fromRow, int fromCol, int toRow, int toCol) {
+        if (!isLegalJump(fromRow, fromCol, toRow, toCol)) {
+            return null;
+        }
+        HoppersConfig neighbor = new HoppersConfig(this);
+        neighbor.board[toRow][toCol] = neighbor.board[fromRow][fromCol];
+        neighbor.board[fromRow][fromCol] = LILYPAD;
+        neighbor.board[(fromRow + toRow) / 2][(fromCol + toCol) / 2] = LILYPAD;
+        neighbor.numGreen -= 1;
+        neighbor.lastFrom = fromRow * colDIM + fromCol;
+        neighbor.lastTo = toRow * colDIM + toCol;
+        return neighbor;
+    }
+    /**
+     * Gets the jump that made this configuration from its parent
+     *
+     * @return the jump, or null if this configuration was not made by a jump
+     */
+    public HoppersEvent.Move getLastMove() {
+        if (this.lastFrom < 0) {
+            return null;
+        }
+        return HoppersEvent.Move.of(Coordinates.of(this.lastFrom / colDIM, this.lastFrom % colDIM),
+                Coordinates.of(this.lastTo / colDIM, this.lastTo % colDIM));
+    }
+    /**
+     * Gets the cell the last jump started from, as row * colDIM + col
+     *
+     * @return the cell, or -1 if this configuration was not made by a jump
+     */
+    public int getLastFrom() {
+        return this.lastFrom;
+    }
+    /**
+     * Gets the cell the last jump landed on, as row * colDIM + col
+     *
+     * @return the cell, or -1 if this configuration was not made by a jump
+     */
+    public int getLastTo() {
+        return this.lastTo;
+    }
+    /**
+     * Gets the number of green frogs left, which is also the number of jumps left to a solution
+     *
+     * @return this.numGreen
+     */
+    public int getGreenCount() {
+        return this.numGreen;
+    }
+    /**
+     * Counts the green frogs that no frog is next to, so nothing can jump them yet. Fewer
+     * stranded green frogs make a board more likely to be solvable, which is used to rank
+     * boards when searching.
+     *
+     * @return number of stranded green frogs
+     */
+    public int getStrandedGreens() {
+        int stranded = 0;
+        for (int row = 0; row < rowDIM; row++) {
+            for (int col = 0; col < colDIM; col++) {
+                if (this.board[row][col] == GREENFROG && !isFrog(row - 1, col - 1) && !isFrog(row - 1, col + 1)
+                        && !isFrog(row + 1, col - 1) && !isFrog(row + 1, col + 1)
+                        && !(row % 2 == 0 && col % 2 == 0 && (isFrog(row - 2, col) || isFrog(row + 2, col)
+                        || isFrog(row, col - 2) || isFrog(row, col + 2)))) {
+                    stranded += 1;
+                }
+            }
+        }
+        return stranded;
+    }
+    /**
+     * Checks if there is a frog at the given coordinate
+     *
+     * @param row = row of cell
+     * @param col = col of cell
+     * @return True if the cell is on the board and has a frog, false otherwise
+     */
+    private boolean isFrog(int row, int col) {
+        return row >= 0 && row < rowDIM && col >= 0 && col < colDIM
+                && (this.board[row][col] == GREENFROG || this.board[row][col] == REDFROG);
+    }
     /**
      * Gets the diagonal neighbors of the config, used for odd and even rows and cols
      *
@@ -98,59 +236,11 @@ public class HoppersConfig implements Configuration{
         if (this.board[row][col] == LILYPAD) {
             return neighbors;
         }
-        // checks diagonal top left cell
-        if ((row - 2 >= 0 && col - 2 >= 0) && (this.board[row-1][col-1] == GREENFROG) &&
-               (this.board[row-2][col-2] == LILYPAD)) {
-           HoppersConfig neighbor = new HoppersConfig(this);
-           if (neighbor.board[row][col] == GREENFROG) {
-               neighbor.board[row - 2][col - 2] = GREENFROG;
-           } else if (neighbor.board[row][col] == REDFROG) {
-               neighbor.board[row - 2][col - 2] = REDFROG;
-           }
-           neighbor.board[row][col] = LILYPAD;
-           neighbor.board[row-1][col-1] = LILYPAD;
-           neighbor.numGreen -= 1;
-           neighbors.add(neighbor);
-        // checks diagonal bottom right cell
-        } if ((row + 2 < rowDIM && col + 2 < colDIM) && (this.board[row+1][col+1] == GREENFROG) &&
-                (this.board[row+2][col+2] == LILYPAD)) {
-           HoppersConfig neighbor = new HoppersConfig(this);
-           if (neighbor.board[row][col] == GREENFROG) {
-               neighbor.board[row + 2][col + 2] = GREENFROG;
-           } else if (neighbor.board[row][col] == REDFROG) {
-               neighbor.board[row + 2][col + 2] = REDFROG;
-           }
-           neighbor.board[row][col] = LILYPAD;
-           neighbor.board[row + 1][col + 1] = LILYPAD;
-           neighbor.numGreen -= 1;
-           neighbors.add(neighbor);
-        // checks diagonal top right cell
-        } if ((row - 2 >= 0 && col + 2 < colDIM) && (this.board[row-1][col+1] == GREENFROG) &&
-               (this.board[row-2][col+2] == LILYPAD)) {
-           HoppersConfig neighbor = new HoppersConfig(this);
-           if (neighbor.board[row][col] == GREENFROG) {
-               neighbor.board[row - 2][col + 2] = GREENFROG;
-           } else if (neighbor.board[row][col] == REDFROG) {
-               neighbor.board[row - 2][col + 2] = REDFROG;
-           }
-           neighbor.board[row][col] = LILYPAD;
-           neighbor.board[row - 1][col + 1] = LILYPAD;
-           neighbor.numGreen -= 1;
-           neighbors.add(neighbor);
-        // checks diagonal bottom left cell
-        } if ((row + 2 < rowDIM && col - 2 >= 0) && (this.board[row+1][col-1] == GREENFROG) &&
-                (this.board[row+2][col-2] == LILYPAD)) {
-           HoppersConfig neighbor = new HoppersConfig(this);
-           if (neighbor.board[row][col] == GREENFROG) {
-               neighbor.board[row + 2][col - 2] = GREENFROG;
-           } else if (neighbor.board[row][col] == REDFROG) {
-               neighbor.board[row + 2][col - 2] = REDFROG;
-           }
-           neighbor.board[row][col] = LILYPAD;
-           neighbor.board[row + 1][col - 1] = LILYPAD;
-           neighbor.numGreen -= 1;
-           neighbors.add(neighbor);
-        }
+        // checks diagonal top left, top right, bottom left and bottom right cells
+        addJump(neighbors, row, col, row - 2, col - 2);
+        addJump(neighbors, row, col, row - 2, col + 2);
+        addJump(neighbors, row, col, row + 2, col - 2);
+        addJump(neighbors, row, col, row + 2, col + 2);
         return neighbors;
     }
     /**
@@ -165,65 +255,38 @@ public class HoppersConfig implements Configuration{
         if (this.board[row][col] == LILYPAD) {
             return neighbors;
         }
-        // checks far south cell
-        if ((row + 4 < rowDIM) && (this.board[row + 4][col] == LILYPAD) && (this.board[row + 2][col] == GREENFROG)) {
-            HoppersConfig neighbor = new HoppersConfig(this);
-            if (neighbor.board[row][col] == GREENFROG) {
-                neighbor.board[row + 4][col] = GREENFROG;
-            } else if (neighbor.board[row][col] == REDFROG) {
-                neighbor.board[row + 4][col] = REDFROG;
-            }
-            neighbor.board[row][col] = LILYPAD;
-            neighbor.board[row + 2][col] = LILYPAD;
-            neighbor.numGreen -= 1;
-            neighbors.add(neighbor);
-        // checks far north cell
-        } if ((row - 4 >= 0) && (this.board[row - 4][col] == LILYPAD) && (this.board[row - 2][col] == GREENFROG)) {
-            HoppersConfig neighbor = new HoppersConfig(this);
-            if (neighbor.board[row][col] == GREENFROG) {
-                neighbor.board[row - 4][col] = GREENFROG;
-            } else if (neighbor.board[row][col] == REDFROG) {
-                neighbor.board[row - 4][col] = REDFROG;
-            }
-            neighbor.board[row][col] = LILYPAD;
-            neighbor.board[row - 2][col] = LILYPAD;
-            neighbor.numGreen -= 1;
-            neighbors.add(neighbor);
-        // check far left cell
-        } if ((col - 4 >= 0) && (this.board[row][col - 4] == LILYPAD) && (this.board[row][col - 2] == GREENFROG)) {
-            HoppersConfig neighbor = new HoppersConfig(this);
-            if (neighbor.board[row][col] == GREENFROG) {
-                neighbor.board[row][col - 4] = GREENFROG;
-            } else if (neighbor.board[row][col] == REDFROG) {
-                neighbor.board[row][col - 4] = REDFROG;
-            }
-            neighbor.board[row][col] = LILYPAD;
-            neighbor.board[row][col - 2] = LILYPAD;
-            neighbor.numGreen -= 1;
-            neighbors.add(neighbor);
-        // check far right cell
-        } if ((col + 4 < colDIM) && (this.board[row][col + 4] == LILYPAD) && (this.board[row][col + 2] == GREENFROG)) {
-            HoppersConfig neighbor = new HoppersConfig(this);
-            if (neighbor.board[row][col] == GREENFROG) {
-                neighbor.board[row][col + 4] = GREENFROG;
-            } else if (neighbor.board[row][col] == REDFROG) {
-                neighbor.board[row][col + 4] = REDFROG;
-            }
-            neighbor.board[row][col] = LILYPAD;
-            neighbor.board[row][col + 2] = LILYPAD;
-            neighbor.numGreen -= 1;
+        // checks far left, far right, far north and far south cells
+        addJump(neighbors, row, col, row, col - 4);
+        addJump(neighbors, row, col, row, col + 4);
+        addJump(neighbors, row, col, row - 4, col);
+        addJump(neighbors, row, col, row + 4, col);
+        return neighbors;
+    }
+    /**
+     * Adds the configuration after a jump to the neighbors if the jump is allowed
+     *
+     * @param neighbors = neighbors to add to
+     * @param fromRow = row of the jumping frog
+     * @param fromCol = col of the jumping frog
+     * @param toRow = row to land on
+     * @param toCol = col to land on
+     */
+    private void addJump(Collection<HoppersConfig> neighbors, int fromRow, int fromCol, int toRow, int toCol) {
+        HoppersConfig neighbor = jump(fromRow, fromCol, toRow, toCol);
+        if (neighbor != null) {
             neighbors.add(neighbor);
         }
-        return neighbors;
     }
     /**
-     * Gets the neighbors of the cell
+     * Gets the neighbors of the cell. The jumps come out in the order of the hash set, which
+     * decides the shortest path the solver finds and so has to stay as it is for the paths in
+     * output/hoppers.
      *
      * @return successors
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        List<Configuration> successors = new LinkedList<>();
+        Set<Configuration> successors = new HashSet<>();
         for (int row = 0; row < rowDIM; row++) {
             for (int col = 0; col < colDIM; col++) {
                 successors.addAll(this.diagNeighbors(row, col));
@@ -243,6 +306,21 @@ public class HoppersConfig implements Configuration{
     public int hashCode() {
         return Arrays.deepHashCode(this.board);
     }
+    /**
+     * Gets a 64 bit hash of the board for the approximate visited filter of the solver
+     *
+     * @return fingerprint of the board
+     */
+    @Override
+    public long fingerprint() {
+        long hash = 0xCBF29CE484222325L;
+        for (char[] row : this.board) {
+            for (char cell : row) {
+                hash = (hash ^ cell) * 0x100000001B3L;
+            }
+        }
+        return hash;
+    }
     /**
      * Checks if config is equal to other config
      *
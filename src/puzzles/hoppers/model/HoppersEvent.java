@@ -0,0 +1,104 @@
+package puzzles.hoppers.model;
+
+import puzzles.common.Coordinates;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * What happened in the HoppersModel, sent to its observers. Besides the kind of event it carries
+ * the jumps that changed the board, so a view can redraw only the cells of those jumps.
+ *
+ * @param kind = what happened
+ * @param moves = jumps made since the last event, empty if the board did not change, or null
+ *              if the whole board changed and has to be redrawn
+ *
+ * @author Daniel Baek
+ */
+public record HoppersEvent(Kind kind, List<Move> moves) {
+    /**
+     * The kinds of events of the HoppersModel
+     */
+    public enum Kind {
+        /** a new puzzle file was loaded */
+        NEW_PUZZLE,
+        /** the puzzle file could not be loaded */
+        NO_FILE,
+        /** the puzzle was set back to its start */
+        RESET,
+        /** the selected jump was made */
+        NEW_CONFIG,
+        /** the selected jump is not allowed */
+        SAME_CONFIG,
+        /** the next jump of a solution was made */
+        HINT,
+        /** the puzzle has no solution from here */
+        END,
+        /** the search ran out of budget before finding a solution */
+        BUDGET,
+        /** a solution was found to play back */
+        SOLVED,
+        /** the next jump of the solution being played back was made */
+        STEP,
+        /** the solution being played back is finished */
+        DONE
+    }
+
+    /**
+     * A single jump
+     *
+     * @param from = where the frog jumped from
+     * @param over = the green frog that was jumped and removed
+     * @param to = where the frog landed
+     */
+    public record Move(Coordinates from, Coordinates over, Coordinates to) {
+        /**
+         * Makes the jump from one cell to another, the jumped cell is halfway between them
+         *
+         * @param from = where the frog jumped from
+         * @param to = where the frog landed
+         * @return the jump
+         */
+        public static Move of(Coordinates from, Coordinates to) {
+            return new Move(from, Coordinates.of((from.row() + to.row()) / 2, (from.col() + to.col()) / 2), to);
+        }
+        /**
+         * Finds the jump that turns one configuration into the next
+         *
+         * @param before = configuration before the jump
+         * @param after = configuration after the jump
+         * @return the jump, or null if the configurations are not one jump apart
+         */
+        public static Move between(HoppersConfig before, HoppersConfig after) {
+            List<Coordinates> emptied = new ArrayList<>(2);
+            Coordinates to = null;
+            for (int row = 0; row < before.getRowDIM(); row++) {
+                for (int col = 0; col < before.getColDIM(); col++) {
+                    char was = before.getCell(row, col);
+                    char is = after.getCell(row, col);
+                    if (was != is) {
+                        if (is == '.') {
+                            emptied.add(Coordinates.of(row, col));
+                        } else {
+                            to = Coordinates.of(row, col);
+                        }
+                    }
+                }
+            }
+            if (to == null || emptied.size() != 2) {
+                return null;
+            }
+            Move move = of(emptied.get(0), to);
+            return move.over().equals(emptied.get(1)) ? move : of(emptied.get(1), to);
+        }
+    }
+
+    /**
+     * Checks if the whole board has to be redrawn
+     *
+     * @return True if the moves are not known, false otherwise
+     */
+    public boolean isFullUpdate() {
+        return this.moves == null;
+    }
+}
@@ -1,9 +1,15 @@
 package puzzles.hoppers.model;
 
+import puzzles.common.Coordinates;
 import puzzles.common.Observer;
+import puzzles.common.solver.BeamSolver;
 import puzzles.common.solver.Configuration;
 import puzzles.common.solver.Solver;
+import puzzles.hoppers.model.HoppersEvent.Kind;
+import puzzles.hoppers.model.HoppersEvent.Move;
+import jdk.jfr.FlightRecorder;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.*;
 
 /**
@@ -12,27 +18,169 @@ import java.util.*;
  * @author Daniel Baek
  */
 public class HoppersModel { 
+    /**
+     * The next jump of a solution, found from a configuration without touching the model
+     *
+     * @param start = configuration the hint was found from
+     * @param next = configuration after the jump, the start itself if it is solved, or null if
+     *             no solution was found
+     * @param kind = HINT if a jump was found, otherwise why not
+     */
+    public record Hint(HoppersConfig start, HoppersConfig next, Kind kind) {
+    }
+
+    /**
+     * A solution, found from a configuration without touching the model
+     *
+     * @param start = configuration the solution was found from
+     * @param path = the jumps of the solution, null if no solution was found
+     * @param failure = why no solution was found, null if one was
+     */
+    public record Solution(HoppersConfig start, HoppersPath path, Kind failure) {
+    }
+
+    /**
+     * A puzzle file as it was first read, with what was found by searching it, so going back
+     * to it reads no file and repeats no search
+     */
+    private static class Puzzle {
+        /** the board the file holds */
+        private final HoppersConfig start;
+        /** the solution from the start, null until it is solved or if it has none */
+        private HoppersPath solution;
+        /** why the start has no solution, null until it is solved or if it has one */
+        private Kind failure;
+        /** hints found on the boards of this puzzle, by board */
+        private final Map<HoppersConfig, Hint> hints = new HashMap<>();
+        /**
+         * Creates the puzzle of a board
+         *
+         * @param start = the board the file holds
+         */
+        private Puzzle(HoppersConfig start) {
+            this.start = start;
+        }
+    }
+
+    /** the puzzles kept when no cache size is given */
+    public final static int DEFAULT_CACHE_SIZE = 16;
+    /** the most hints kept for one puzzle */
+    private final static int HINTS_PER_PUZZLE = 10_000;
+    /** puzzles by file, least recently used first */
+    private final Map<String, Puzzle> puzzles;
+    /** the puzzle being played */
+    private Puzzle puzzle;
+
     /** the collection of observers of this model */
-    private final List<Observer<HoppersModel, String>> observers = new LinkedList<>();
+    private final List<Observer<HoppersModel, HoppersEvent>> observers = new ArrayList<>();
+    /** whether events are held until flushEvents is called */
+    private boolean coalescing = false;
+    /** the held event kind, null if no event is held */
+    private Kind pendingKind;
+    /** the jumps of the held events, null if the whole board has to be redrawn */
+    private List<Move> pendingMoves;
 
+    /** the most unique configurations a hint may store before giving up on a shortest path */
+    public final static int SOLVE_BUDGET = 1_000_000;
+    /** the most configurations the quick hint search keeps per level */
+    public final static int HINT_BEAM_WIDTH = 200;
+    /** milliseconds the quick hint search may take before the full search is used */
+    public final static long HINT_TIME_LIMIT = 500;
     /** the current configuration */
     private HoppersConfig currentConfig;
+    /** the solution being played back as packed jumps, null until one is computed */
+    private HoppersPath solution;
+    /** the index of the current configuration in the solution */
+    private int solutionStep;
     /**
      * The view calls this to add itself as an observer.
      *
      * @param observer the view
      */
-    public void addObserver(Observer<HoppersModel, String> observer) {
+    public void addObserver(Observer<HoppersModel, HoppersEvent> observer) {
         this.observers.add(observer);
     }
 
     /**
-     * The model's state has changed (the counter), so inform the view via
+     * Holds events instead of sending them right away, so a burst of events (such as solution
+     * playback) reaches the views as one event per call to flushEvents. The held event has the
+     * kind of the latest event and the jumps of all of them. Only the events are held: the
+     * model's own state changes right away, so a view acting on a click before the held event
+     * is sent has to read the board from the model, not from what it last drew.
+     *
+     * @param coalescing = True to hold events, false to send them right away
+     */
+    public void setCoalescing(boolean coalescing) {
+        this.coalescing = coalescing;
+        if (!coalescing) {
+            flushEvents();
+        }
+    }
+
+    /**
+     * Sends the held event, if there is one, to the views
+     */
+    public void flushEvents() {
+        if (this.pendingKind == null) {
+            return;
+        }
+        HoppersEvent event = new HoppersEvent(this.pendingKind, this.pendingMoves);
+        this.pendingKind = null;
+        this.pendingMoves = null;
+        for (var observer : observers) {
+            observer.update(this, event);
+        }
+    }
+
+    /**
+     * Something happened that did not change the board, so inform the view via
      * the update method
+     *
+     * @param kind = what happened
+     */
+    private void alertObservers(Kind kind) {
+        alertObservers(kind, List.of());
+    }
+
+    /**
+     * The board changed by one jump from the given configuration, so inform the view via
+     * the update method
+     *
+     * @param kind = what happened
+     * @param before = configuration before the jump
      */
-    private void alertObservers(String msg) {
+    private void alertJump(Kind kind, HoppersConfig before) {
+        if (before == this.currentConfig) {
+            alertObservers(kind);
+            return;
+        }
+        Move move = Move.between(before, this.currentConfig);
+        alertObservers(kind, move == null ? null : List.of(move));
+    }
+
+    /**
+     * The model's state has changed, so inform the view via the update method
+     *
+     * @param kind = what happened
+     * @param moves = jumps that changed the board, null if the whole board changed
+     */
+    private void alertObservers(Kind kind, List<Move> moves) {
+        if (this.coalescing) {
+            if (this.pendingKind == null) {
+                this.pendingMoves = moves == null ? null : new ArrayList<>(moves);
+            } else if (this.pendingMoves != null) {
+                if (moves == null) {
+                    this.pendingMoves = null;
+                } else {
+                    this.pendingMoves.addAll(moves);
+                }
+            }
+            this.pendingKind = kind;
+            return;
+        }
+        HoppersEvent event = new HoppersEvent(kind, moves);
         for (var observer : observers) {
-            observer.update(this, msg);
+            observer.update(this, event);
         }
     }
     /**
@@ -44,21 +192,239 @@ public class HoppersModel {
         return this.currentConfig;
     }
     /**
-     * Gives the user a hint, the next step, for the puzzle
+     * Gives the user a hint, the next step, for the puzzle. A hint found on the same board
+     * before is used again without searching.
      */
     public void hint() {
-        Solver solver = new Solver(this.currentConfig);
+        Hint hint = cachedHint(this.currentConfig);
+        applyHint(hint != null ? hint : findHint(this.currentConfig));
+    }
+    /**
+     * Gets a hint found before on a board of the puzzle being played
+     *
+     * @param start = board to get the hint for
+     * @return the hint, or null if none was found on that board yet
+     */
+    public Hint cachedHint(HoppersConfig start) {
+        Hint hint = this.puzzle.hints.get(start);
+        return hint == null ? null : new Hint(start, hint.next(), hint.kind());
+    }
+    /**
+     * Finds the next jump of a solution from a configuration. A quick beam search is tried first,
+     * since every solution has the same number of jumps any solution will do, and the full
+     * search is only used when the beam search finds nothing. Nothing in the model is read or
+     * changed, so a view may call this away from its own thread and give the result to
+     * applyHint afterwards.
+     *
+     * @param start = configuration to solve from
+     * @return the hint
+     */
+    public static Hint findHint(HoppersConfig start) {
+        HintRequestEvent event = null;
+        if (FlightRecorder.isInitialized()) {
+            event = new HintRequestEvent();
+            event.begin();
+        }
+        String search = "beam";
+        BeamSolver beam = new BeamSolver(start, HINT_BEAM_WIDTH, HINT_TIME_LIMIT,
+                config -> ((HoppersConfig) config).getStrandedGreens());
+        beam.solve();
+        List<Configuration> path = beam.getPath();
+        if (path.isEmpty()) {
+            search = "full";
+            Solver solver = solver(start);
+            path = solver.getPath();
+            if (path.isEmpty()) {
+                commitHint(event, start, "none");
+                return new Hint(start, null, solver.getStatus() == Solver.Status.BUDGET_EXCEEDED ? Kind.BUDGET : Kind.END);
+            }
+        }
+        commitHint(event, start, search);
+        return new Hint(start, (HoppersConfig) path.get(Math.min(1, path.size() - 1)), Kind.HINT);
+    }
+    /**
+     * Makes the jump of a hint. A hint found from a configuration other than the current one
+     * is out of date and is dropped.
+     *
+     * @param hint = hint from findHint
+     * @return True if the hint was for the current configuration, false otherwise
+     */
+    public boolean applyHint(Hint hint) {
+        if (hint.start() != this.currentConfig) {
+            return false;
+        }
+        if (this.puzzle.hints.size() < HINTS_PER_PUZZLE) {
+            this.puzzle.hints.put(hint.start(), hint);
+        }
+        if (hint.next() == null) {
+            alertObservers(hint.kind());
+        } else {
+            this.currentConfig = hint.next();
+            alertJump(Kind.HINT, hint.start());
+        }
+        return true;
+    }
+    /**
+     * Records a hint if recording is on
+     *
+     * @param event = event begun when the hint was asked for, null if recording is off
+     * @param start = configuration the hint was found from
+     * @param search = search that found the hint, none if neither did
+     */
+    private static void commitHint(HintRequestEvent event, HoppersConfig start, String search) {
+        if (event != null && event.shouldCommit()) {
+            event.rows = start.getRowDIM();
+            event.cols = start.getColDIM();
+            event.search = search;
+            event.found = !search.equals("none");
+            event.commit();
+        }
+    }
+    /**
+     * Reads a board, recording the load if recording is on
+     *
+     * @param file = file
+     * @return the board
+     */
+    private static HoppersConfig read(String file) throws IOException {
+        if (!FlightRecorder.isInitialized()) {
+            return new HoppersConfig(file);
+        }
+        BoardLoadEvent event = new BoardLoadEvent();
+        event.begin();
+        event.file = file;
+        try {
+            HoppersConfig config = new HoppersConfig(file);
+            event.rows = config.getRowDIM();
+            event.cols = config.getColDIM();
+            event.loaded = true;
+            return config;
+        } finally {
+            event.commit();
+        }
+    }
+    /**
+     * Solves the puzzle from a configuration within the solve budget. Past the budget a depth
+     * first search is used, which is enough since every solution of a board has the same number
+     * of jumps, one per green frog.
+     *
+     * @param start = configuration to solve from
+     * @return the finished solver
+     */
+    private static Solver solver(HoppersConfig start) {
+        Solver solver = new Solver(start);
+        solver.setBudget(SOLVE_BUDGET);
+        solver.setFallbackDepth(start.getRowDIM() * start.getColDIM());
         solver.solve();
+        return solver;
+    }
+    /**
+     * Solves the puzzle from the current configuration once, so it can be played back
+     * step by step without solving again. The solution from the start of a puzzle is kept
+     * with the puzzle, so it is not searched for again after a reset or a reload.
+     *
+     * @return True if there is a solution, false otherwise
+     */
+    public boolean solve() {
+        Solution solution = cachedSolution(this.currentConfig);
+        if (solution == null) {
+            solution = findSolution(this.currentConfig);
+        }
+        applySolution(solution);
+        return solution.path() != null;
+    }
+    /**
+     * Solves the puzzle from a configuration. Nothing in the model is read or changed, so a
+     * view may call this away from its own thread and give the result to applySolution
+     * afterwards.
+     *
+     * @param start = configuration to solve from
+     * @return the solution
+     */
+    public static Solution findSolution(HoppersConfig start) {
+        Solver solver = solver(start);
         List<Configuration> path = solver.getPath();
         if (path.isEmpty()) {
-            alertObservers("END");
-            return;
+            return new Solution(start, null, solver.getStatus() == Solver.Status.BUDGET_EXCEEDED ? Kind.BUDGET : Kind.END);
+        }
+        return new Solution(start, HoppersPath.of(path), null);
+    }
+    /**
+     * Gets the solution kept with the puzzle being played
+     *
+     * @param start = configuration to get the solution from
+     * @return the solution, or null if the configuration is not the start of the puzzle or
+     *         the puzzle was not solved yet
+     */
+    public Solution cachedSolution(HoppersConfig start) {
+        if (start != this.puzzle.start || (this.puzzle.solution == null && this.puzzle.failure == null)) {
+            return null;
+        }
+        return new Solution(start, this.puzzle.solution, this.puzzle.failure);
+    }
+    /**
+     * Starts playing back a solution from its first step. A solution found from a configuration
+     * other than the current one is out of date and is dropped.
+     *
+     * @param solution = solution from findSolution
+     * @return True if the solution was for the current configuration, false otherwise
+     */
+    public boolean applySolution(Solution solution) {
+        if (solution.start() != this.currentConfig) {
+            return false;
+        }
+        if (solution.start() == this.puzzle.start) {
+            this.puzzle.solution = solution.path();
+            this.puzzle.failure = solution.failure();
+        }
+        this.solution = solution.path();
+        this.solutionStep = 0;
+        alertObservers(solution.path() == null ? solution.failure() : Kind.SOLVED);
+        return true;
+    }
+    /**
+     * Moves to the next configuration of the solution. The puzzle is solved first if there is
+     * no solution yet, or if the board was changed since it was solved.
+     *
+     * @return True if a step was made, false if the puzzle is finished or has no solution
+     */
+    public boolean step() {
+        if (!isPlaying() && !solve()) {
+            return false;
         }
-        path.remove(0);
-        if (!path.isEmpty()) {
-            this.currentConfig = (HoppersConfig) path.remove(0);
+        if (this.solutionStep == this.solution.size()) {
+            alertObservers(Kind.DONE);
+            return false;
         }
-        alertObservers("HINT");
+        Move move = this.solution.getMove(this.solutionStep);
+        this.solutionStep += 1;
+        this.currentConfig = this.solution.getConfig(this.solutionStep);
+        alertObservers(Kind.STEP, List.of(move));
+        return true;
+    }
+    /**
+     * Checks if the current configuration is part of the solution being played back
+     *
+     * @return True if the solution can continue from the current configuration, false otherwise
+     */
+    public boolean isPlaying() {
+        return this.solution != null && this.solution.getConfig(this.solutionStep) == this.currentConfig;
+    }
+    /**
+     * Gets the index of the current configuration in the solution
+     *
+     * @return this.solutionStep
+     */
+    public int getSolutionStep() {
+        return this.solutionStep;
+    }
+    /**
+     * Gets the number of moves in the solution
+     *
+     * @return number of moves, 0 if there is no solution
+     */
+    public int getSolutionLength() {
+        return this.solution == null ? 0 : this.solution.size();
     }
     /**
      * Resets the puzzle to the initial state
@@ -67,10 +433,10 @@ public class HoppersModel {
      */
     public void reset(String file) {
         try {
-            this.currentConfig = new HoppersConfig(file);
+            open(file);
         } catch (IOException ignored) {
         }
-        alertObservers("RESET");
+        alertObservers(Kind.RESET, null);
     }
     /**
      * Loads the file
@@ -79,16 +445,15 @@ public class HoppersModel {
      */
     public void load(String file) {
         try {
-            if (!file.contains("/data")) {
-                alertObservers("NO FILE");
-            }
-            this.currentConfig = new HoppersConfig(file);
-            alertObservers("NEW PUZZLE");
-        } catch (IOException ignored) {
+            open(file);
+        } catch (IOException e) {
+            alertObservers(Kind.NO_FILE);
+            return;
         }
+        alertObservers(Kind.NEW_PUZZLE, null);
     }
     /**
-     * Selects the initial cell and moves it the final cell
+     * Selects the initial cell and moves it the final cell, if that jump is allowed
      *
      * @param initialRow = initial row
      * @param initialCol = initial col
@@ -97,25 +462,44 @@ public class HoppersModel {
      */
     public void select(int initialRow, int initialCol, int finalRow, int finalCol) {
         if (initialRow < 0 && initialCol < 0) {
-            alertObservers("NEW CONFIG");
+            alertObservers(Kind.NEW_CONFIG);
             return;
         }
-        ArrayList<HoppersConfig> neighbors = new ArrayList<>(this.currentConfig.diagNeighbors(initialRow, initialCol));
-        if (initialRow % 2 == 0 && initialCol % 2 == 0) {
-            neighbors.addAll(this.currentConfig.horizontalVerticalNeighbors(initialRow, initialCol));
-        }
-        if (neighbors.isEmpty()) {
-            alertObservers("SAME CONFIG");
+        HoppersConfig next = this.currentConfig.jump(initialRow, initialCol, finalRow, finalCol);
+        if (next == null) {
+            alertObservers(Kind.SAME_CONFIG);
             return;
         }
-        for (HoppersConfig config : neighbors) {
-            if ((config.getCell(finalRow, finalCol) == config.GREENFROG || config.getCell(finalRow, finalCol) == config.REDFROG) && !currentConfig.equals(config)) {
-                this.currentConfig = config;
-                alertObservers("NEW CONFIG");
-                break;
-            }
-            alertObservers("SAME CONFIG");
+        this.currentConfig = next;
+        alertObservers(Kind.NEW_CONFIG, List.of(Move.of(Coordinates.of(initialRow, initialCol),
+                Coordinates.of(finalRow, finalCol))));
+    }
+
+    /**
+     * Makes a puzzle the one being played, from its start. The file is only read if the puzzle
+     * is not in the cache, and a solution kept with it can be played back right away.
+     *
+     * @param file = file
+     */
+    private void open(String file) throws IOException {
+        String key = Path.of(file).toAbsolutePath().normalize().toString();
+        Puzzle puzzle = this.puzzles.get(key);
+        if (puzzle == null) {
+            puzzle = new Puzzle(read(file));
+            this.puzzles.put(key, puzzle);
         }
+        this.puzzle = puzzle;
+        this.currentConfig = puzzle.start;
+        this.solution = puzzle.solution;
+        this.solutionStep = 0;
+    }
+    /**
+     * Gets the number of puzzles in the cache
+     *
+     * @return number of puzzles
+     */
+    public int getCachedPuzzles() {
+        return this.puzzles.size();
     }
 
     /**
@@ -124,6 +508,25 @@ public class HoppersModel {
      * @param filename = file
      */
     public HoppersModel(String filename) throws IOException {
-        this.currentConfig = new HoppersConfig(filename);
+        this(filename, DEFAULT_CACHE_SIZE);
+    }
+
+    /**
+     * Creates the HoppersModel
+     *
+     * @param filename = file
+     * @param cacheSize = most puzzles kept with their boards and search results, at least 1
+     */
+    public HoppersModel(String filename, int cacheSize) throws IOException {
+        if (cacheSize < 1) {
+            throw new IllegalArgumentException("Cache size must be at least 1");
+        }
+        this.puzzles = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Puzzle> eldest) {
+                return size() > cacheSize;
+            }
+        };
+        open(filename);
     }
 }
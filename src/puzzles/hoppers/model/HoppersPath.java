@@ -0,0 +1,143 @@
+package puzzles.hoppers.model;
+
+import puzzles.common.Coordinates;
+import puzzles.common.solver.Configuration;
+
+import java.io.PrintStream;
+import java.util.List;
+
+/**
+ * A Hoppers solution stored as the start board and the jumps that follow it, each jump packed
+ * into a single int, instead of a full board per step. Boards are only made again when they are
+ * asked for, and write renders every step straight to a stream from a single board.
+ *
+ * @author Daniel Baek
+ */
+public class HoppersPath {
+    private final HoppersConfig start;
+    private final int cells;
+    /** the jumps, each stored as from * cells + to with cells numbered row * colDIM + col */
+    private final int[] moves;
+    /** the last board made by getConfig and its step, so going forward does not replay from the start */
+    private HoppersConfig cursor;
+    private int cursorStep;
+    /**
+     * Creates a path from the start board and its packed jumps
+     *
+     * @param start = board before the first jump
+     * @param moves = packed jumps
+     */
+    private HoppersPath(HoppersConfig start, int[] moves) {
+        this.start = start;
+        this.cells = start.getRowDIM() * start.getColDIM();
+        this.moves = moves;
+        this.cursor = start;
+        this.cursorStep = 0;
+    }
+    /**
+     * Packs a path of boards found by a solver. Every board after the first must have been
+     * made by a jump from the one before it, as the neighbors of a HoppersConfig are.
+     *
+     * @param path = boards of the path, starting with the start board
+     * @return the packed path
+     */
+    public static HoppersPath of(List<Configuration> path) {
+        if (path.isEmpty()) {
+            throw new IllegalArgumentException("Path has no start board");
+        }
+        HoppersConfig start = (HoppersConfig) path.get(0);
+        int cells = start.getRowDIM() * start.getColDIM();
+        int[] moves = new int[path.size() - 1];
+        int i = 0;
+        for (Configuration config : path.subList(1, path.size())) {
+            HoppersConfig step = (HoppersConfig) config;
+            moves[i++] = step.getLastFrom() * cells + step.getLastTo();
+        }
+        return new HoppersPath(start, moves);
+    }
+    /**
+     * Gets the number of jumps in the path
+     *
+     * @return number of jumps
+     */
+    public int size() {
+        return this.moves.length;
+    }
+    /**
+     * Gets a jump of the path
+     *
+     * @param i = index of the jump, 0 for the jump from the start board
+     * @return the jump
+     */
+    public HoppersEvent.Move getMove(int i) {
+        int colDIM = this.start.getColDIM();
+        int from = this.moves[i] / this.cells;
+        int to = this.moves[i] % this.cells;
+        return HoppersEvent.Move.of(Coordinates.of(from / colDIM, from % colDIM),
+                Coordinates.of(to / colDIM, to % colDIM));
+    }
+    /**
+     * Gets the board after the given number of jumps, replaying the jumps to make it. Asking for
+     * the same step again gives back the same board.
+     *
+     * @param step = number of jumps made, 0 for the start board
+     * @return the board
+     */
+    public HoppersConfig getConfig(int step) {
+        if (step < 0 || step > this.moves.length) {
+            throw new IndexOutOfBoundsException("Step " + step + " of " + this.moves.length);
+        }
+        if (step < this.cursorStep) {
+            this.cursor = this.start;
+            this.cursorStep = 0;
+        }
+        int colDIM = this.start.getColDIM();
+        while (this.cursorStep < step) {
+            int from = this.moves[this.cursorStep] / this.cells;
+            int to = this.moves[this.cursorStep] % this.cells;
+            this.cursor = this.cursor.jump(from / colDIM, from % colDIM, to / colDIM, to % colDIM);
+            this.cursorStep += 1;
+        }
+        return this.cursor;
+    }
+    /**
+     * Prints every step of the path the same way as Solver.display, making the jumps on a single
+     * board as it goes so no board is kept for any step
+     *
+     * @param out = where to print
+     */
+    public void write(PrintStream out) {
+        int rowDIM = this.start.getRowDIM();
+        int colDIM = this.start.getColDIM();
+        char[] board = new char[this.cells];
+        for (int row = 0; row < rowDIM; row++) {
+            for (int col = 0; col < colDIM; col++) {
+                board[row * colDIM + col] = this.start.getCell(row, col);
+            }
+        }
+        char[] line = new char[2 * colDIM - 1];
+        String newLine = System.lineSeparator();
+        for (int step = 0; step <= this.moves.length; step++) {
+            if (step > 0) {
+                int from = this.moves[step - 1] / this.cells;
+                int to = this.moves[step - 1] % this.cells;
+                int over = (from / colDIM + to / colDIM) / 2 * colDIM + (from % colDIM + to % colDIM) / 2;
+                board[to] = board[from];
+                board[from] = '.';
+                board[over] = '.';
+            }
+            out.print("Step " + step + ":  " + newLine);
+            for (int row = 0; row < rowDIM; row++) {
+                for (int col = 0; col < colDIM; col++) {
+                    line[2 * col] = board[row * colDIM + col];
+                    if (col != colDIM - 1) {
+                        line[2 * col + 1] = ' ';
+                    }
+                }
+                out.print(line);
+                out.print(newLine);
+            }
+            out.println();
+        }
+    }
+}
@@ -1,8 +1,14 @@
 package puzzles.hoppers.ptui;
 
 import puzzles.common.Observer;
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.hoppers.model.HoppersEvent;
 import puzzles.hoppers.model.HoppersModel;
+import java.io.BufferedWriter;
+import java.io.File;
 import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
 import java.util.Scanner;
 
 /**
@@ -10,17 +16,25 @@ import java.util.Scanner;
  *
  * @author Daniel Baek
  */
-public class HoppersPTUI implements Observer<HoppersModel, String> {
+public class HoppersPTUI implements Observer<HoppersModel, HoppersEvent> {
     private HoppersModel model;
     /** A horizontal divider */
     char HORI_DIVIDE = '-';
     /** A vertical divider */
     char VERT_DIVIDE = '|';
+    /** Milliseconds between moves when playing a solution */
+    private final static int DEFAULT_DELAY = 500;
     private int initialRow;
     private int initialCol;
     private int finalRow;
     private int finalCol;
     private String fileName;
+    /** Where all output goes, flushed after every line when interactive */
+    private PrintWriter out = new PrintWriter(System.out, true);
+    /** Whether the board is shown after every command */
+    private boolean render = true;
+    /** Whether commands are typed at the console, so every prompt is shown before reading */
+    private boolean interactive = true;
 
     /**
      * Initializes the PTUI
@@ -31,8 +45,8 @@ public class HoppersPTUI implements Observer<HoppersModel, String> {
         this.fileName = filename;
         this.model = new HoppersModel(filename);
         this.model.addObserver(this);
-        System.out.println("Loaded: " + fileName);
-        System.out.println(getDisplay());
+        out.println("Loaded: " + new File(fileName).getName());
+        out.println(getDisplay());
         displayHelp();
     }
 
@@ -45,36 +59,79 @@ public class HoppersPTUI implements Observer<HoppersModel, String> {
      *
      */
     @Override
-    public void update(HoppersModel model, String data) {
-        switch (data) {
-            case "NEW CONFIG" ->
-                    System.out.println("Jumped from (" + initialRow + ", " + initialCol + ") to (" + finalRow + ", " + finalCol + ")");
-            case "SAME CONFIG" ->
-                    System.out.println("Can't jump from (" + initialRow + ", " + initialCol + ") to (" + finalRow + ", " + finalCol + ")");
-            case "NEW PUZZLE" -> System.out.println("Loaded: " + fileName);
-            case "NO FILE" -> System.out.println("Failed to load: " + fileName);
-            case "RESET" -> System.out.println("Puzzle reset!");
-            case "HINT" -> System.out.println("Next step!");
+    public void update(HoppersModel model, HoppersEvent data) {
+        switch (data.kind()) {
+            case NEW_CONFIG ->
+                    out.println("Jumped from (" + initialRow + ", " + initialCol + ") to (" + finalRow + ", " + finalCol + ")");
+            case SAME_CONFIG ->
+                    out.println("Can't jump from (" + initialRow + ", " + initialCol + ") to (" + finalRow + ", " + finalCol + ")");
+            case NEW_PUZZLE -> out.println("Loaded: " + new File(fileName).getName());
+            case NO_FILE -> out.println("Failed to load: " + fileName);
+            case RESET -> out.println("Puzzle reset!");
+            case HINT -> out.println("Next step!");
+            case SOLVED -> out.println("Solved in " + model.getSolutionLength() + " moves");
+            case STEP -> out.println("Step " + model.getSolutionStep() + " of " + model.getSolutionLength());
+            case DONE -> out.println("Solution finished");
+            case END -> out.println("No solution");
+            case BUDGET -> out.println("Too many configs, no solution found");
         }
     }
     /**
      * Displays the help functions
      */
     private void displayHelp() {
-        System.out.println( "h(int)              -- hint next move" );
-        System.out.println( "l(oad) filename     -- load new puzzle file" );
-        System.out.println( "s(elect) r c        -- select cell at r, c" );
-        System.out.println( "q(uit)              -- quit the game" );
-        System.out.println( "r(eset)             -- reset the current game" );
+        out.println( "h(int)              -- hint next move" );
+        out.println( "n(ext)              -- play the next move of the solution" );
+        out.println( "p(lay) [delay]      -- play the solution, delay in ms between moves" );
+        out.println( "l(oad) filename     -- load new puzzle file" );
+        out.println( "s(elect) r c        -- select cell at r, c" );
+        out.println( "q(uit)              -- quit the game" );
+        out.println( "r(eset)             -- reset the current game" );
+        out.println( "d(isplay)           -- show the board" );
     }
     /**
      * Runs the PTUI
      */
     public void run() {
-        Scanner in = new Scanner( System.in );
+        run(new Scanner( System.in ));
+    }
+    /**
+     * Runs the commands in a script file without waiting on the console. All output is buffered
+     * and written at once, and the number of commands per second is reported at the end.
+     *
+     * @param script = file of commands, one per line
+     * @param render = True to show the board after every command, false to only show it on d(isplay)
+     */
+    public void runScript(String script, boolean render) throws IOException {
+        this.render = render;
+        this.interactive = false;
+        long start = System.nanoTime();
+        int commands;
+        try (Scanner in = new Scanner(new File(script))) {
+            commands = run(in);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        out.println();
+        out.println("Commands: " + commands);
+        out.println("Elapsed time: " + String.format("%.3f", seconds) + " seconds");
+        out.println("Commands per second: " + String.format("%.1f", commands / seconds));
+        out.flush();
+    }
+    /**
+     * Reads and runs commands until the input ends or the user quits
+     *
+     * @param in = source of commands
+     * @return number of commands read
+     */
+    private int run(Scanner in) {
+        int commands = 0;
         for ( ; ; ) {
-            System.out.print( "> " );
+            prompt();
+            if (!in.hasNextLine()) {
+                break;
+            }
             String line = in.nextLine();
+            commands += 1;
             String[] words = line.split( "\\s+" );
             if (words.length > 0) {
                 // checks if user wants to quit puzzle
@@ -83,6 +140,12 @@ public class HoppersPTUI implements Observer<HoppersModel, String> {
                 // checks if user wants a hint
                 } else if (words[0].startsWith("h")) {
                     model.hint();
+                // checks if user wants the next move of the solution
+                } else if (words[0].startsWith("n")) {
+                    model.step();
+                // checks if user wants to play the whole solution
+                } else if (words[0].startsWith("p")) {
+                    play(words.length > 1 ? Integer.parseInt(words[1]) : DEFAULT_DELAY);
                 // checks if user wants to load a new puzzle
                 } else if (words[0].startsWith("l")) {
                     fileName = words[1];
@@ -92,12 +155,18 @@ public class HoppersPTUI implements Observer<HoppersModel, String> {
                     initialRow = Integer.parseInt(words[1]);
                     initialCol = Integer.parseInt(words[2]);
                     if (model.getCurrentConfig().getCell(initialRow, initialCol) == '.' || model.getCurrentConfig().getCell(initialRow, initialCol) == '*') {
-                        System.out.println("No frog at (" + initialRow + ", " + initialCol + ")");
+                        out.println("No frog at (" + initialRow + ", " + initialCol + ")");
                     } else {
-                        System.out.println("Selected (" + initialRow + ", " + initialCol + ")");
-                        System.out.println(this.getDisplay());
-                        System.out.print( "> " );
+                        out.println("Selected (" + initialRow + ", " + initialCol + ")");
+                        if (render) {
+                            out.println(this.getDisplay());
+                        }
+                        prompt();
+                        if (!in.hasNextLine()) {
+                            break;
+                        }
                         line = in.nextLine();
+                        commands += 1;
                         words = line.split( "\\s+" );
                         finalRow = Integer.parseInt(words[1]);
                         finalCol = Integer.parseInt(words[2]);
@@ -105,51 +174,97 @@ public class HoppersPTUI implements Observer<HoppersModel, String> {
                     }
                 // checks if user wants to reset puzzle
                 } else if (words[0].startsWith("r")) {
+                    // a reset reads the file again, so it is shown as a load first
+                    model.load(fileName);
+                    if (render) {
+                        out.println(getDisplay());
+                    }
                     model.reset(fileName);
+                // checks if user wants to see the board
+                } else if (words[0].startsWith("d")) {
+                    out.println(getDisplay());
+                    continue;
                 }
                 else {
                     displayHelp();
                 }
             }
-            System.out.println(getDisplay());
+            if (render) {
+                out.println(getDisplay());
+            }
+        }
+        return commands;
+    }
+    /**
+     * Shows the prompt, flushing it at the console since only println flushes on its own
+     */
+    private void prompt() {
+        out.print( "> " );
+        if (interactive) {
+            out.flush();
+        }
+    }
+    /**
+     * Plays the rest of the solution, showing the board after every move
+     *
+     * @param delay = milliseconds to wait between moves
+     */
+    private void play(int delay) {
+        while (model.step()) {
+            if (render) {
+                out.println(getDisplay());
+            }
+            try {
+                Thread.sleep(delay);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
         }
     }
     /**
-     * Creates String representation of configuration
+     * Creates String representation of configuration, with the rows and cols numbered
      * @return result
      */
     public String getDisplay() {
+        HoppersConfig config = model.getCurrentConfig();
+        int rowDIM = config.getRowDIM();
+        int colDIM = config.getColDIM();
         StringBuilder result = new StringBuilder("  ");
 
-        for (int col=0; col<model.getCurrentConfig().getColDIM(); col++) {
-            result.append(col).append(" ");
+        for (int col=0; col<colDIM; col++) {
+            result.append(" ").append(col);
         }
         result.append(System.lineSeparator()).append("  ");
 
-        result.append(String.valueOf(HORI_DIVIDE).repeat(Math.max(0, this.model.getCurrentConfig().getRowDIM() * 2 - 1)));
+        result.append(String.valueOf(HORI_DIVIDE).repeat(colDIM * 2));
         result.append(System.lineSeparator());
 
-        for (int row=0; row< model.getCurrentConfig().getRowDIM(); row++) {
+        for (int row=0; row<rowDIM; row++) {
             result.append(row);
             result.append(VERT_DIVIDE);
-            for (int col = 0; col<model.getCurrentConfig().getColDIM() ; col++) {
-                if (col != model.getCurrentConfig().getColDIM() -1) {
-                    result.append(model.getCurrentConfig().getCell(row, col)).append(" ");
-                } else {
-                    result.append(model.getCurrentConfig().getCell(row, col)).append(System.lineSeparator());
-                }
+            for (int col = 0; col<colDIM ; col++) {
+                result.append(" ").append(config.getCell(row, col));
             }
+            result.append(System.lineSeparator());
         }
         return result.toString();
     }
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java HoppersPTUI filename");
+        if (args.length < 1 || args.length > 3) {
+            System.out.println("Usage: java HoppersPTUI filename [script [-q]]");
         } else {
             try {
                 HoppersPTUI ptui = new HoppersPTUI();
+                if (args.length > 1) {
+                    ptui.out = new PrintWriter(new BufferedWriter(new OutputStreamWriter(System.out), 1 << 16), false);
+                }
                 ptui.init(args[0]);
-                ptui.run();
+                if (args.length > 1) {
+                    ptui.runScript(args[1], args.length < 3 || !args[2].equals("-q"));
+                } else {
+                    ptui.run();
+                }
             } catch (IOException ioe) {
                 System.out.println(ioe.getMessage());
             }
@@ -1,22 +1,84 @@
 package puzzles.hoppers.solver;
 
+import puzzles.common.solver.ParallelSolver;
 import puzzles.common.solver.Solver;
 import puzzles.hoppers.model.HoppersConfig;
+import puzzles.hoppers.model.HoppersPath;
 
 import java.io.IOException;
+import java.nio.file.Path;
 
 public class Hoppers {
+    /**
+     * Checks that the number of arguments fits the mode they ask for
+     *
+     * @param args = arguments of the program
+     * @return True if they can be run, false if the usage should be shown
+     */
+    private static boolean isValid(String[] args) {
+        if (args.length < 2) {
+            return args.length == 1;
+        }
+        return switch (args[1]) {
+            case "parallel" -> args.length <= 3;
+            case "pattern" -> args.length == 3 || args.length == 4;
+            case "approximate" -> args.length == 4;
+            // a budget
+            default -> args.length == 2;
+        };
+    }
+    /**
+     * Solves the puzzle with the sequential solver, set up by the arguments, and prints the
+     * counts of the search
+     *
+     * @param hopper = start configuration
+     * @param args = arguments of the program
+     * @return the solution as packed jumps, null if there is none
+     */
+    private static HoppersPath solve(HoppersConfig hopper, String[] args) throws IOException {
+        Solver solver = new Solver(hopper);
+        if (args.length > 1 && args[1].equals("pattern")) {
+            // prune boards the database knows have no solution, building the database if needed
+            int greens = Integer.parseInt(args[2]);
+            HoppersPatternDatabase database = args.length == 4
+                    ? HoppersPatternDatabase.forBoard(hopper, greens, Path.of(args[3]))
+                    : HoppersPatternDatabase.build(hopper, greens);
+            solver.setPrune(database::isDeadEnd);
+        } else if (args.length > 1 && args[1].equals("approximate")) {
+            solver.setApproximate(Double.parseDouble(args[2]), Long.parseLong(args[3]));
+        } else if (args.length > 1) {
+            // past the budget, search depth first; a board never needs more jumps than it has cells
+            solver.setBudget(Integer.parseInt(args[1]));
+            solver.setFallbackDepth(hopper.getRowDIM() * hopper.getColDIM());
+        }
+        solver.solve();
+        solver.displayCounts(System.out);
+        return solver.getPath().isEmpty() ? null : HoppersPath.of(solver.getPath());
+    }
     public static void main(String[] args) {
-        if (args.length != 1) {
-            System.out.println("Usage: java Hoppers filename");
+        if (!isValid(args)) {
+            System.out.println("Usage: java Hoppers filename [budget | parallel [natural|connected|red_first|history]"
+                    + " | pattern greens [database] | approximate errorRate expectedConfigs]");
         } else {
             System.out.println("File: " + args[0]);
             try {
                 HoppersConfig hopper = new HoppersConfig(args[0]);
                 System.out.println(hopper);
-                Solver solver = new Solver(hopper);
-                solver.solve();
-                solver.display();
+                if (args.length >= 2 && args[1].equals("parallel")) {
+                    HoppersOrdering ordering = args.length == 3 ? HoppersOrdering.valueOf(args[2].toUpperCase()) : HoppersOrdering.RED_FIRST;
+                    ParallelSolver solver = new ParallelSolver(hopper, Runtime.getRuntime().availableProcessors(), ordering.create(hopper));
+                    solver.solve();
+                    solver.display();
+                    return;
+                }
+                HoppersPath path = solve(hopper, args);
+                // the solver and the boards of its search are out of reach here, so they can be
+                // freed while the steps are printed from the packed jumps
+                if (path == null) {
+                    System.out.println("No solution");
+                } else {
+                    path.write(System.out);
+                }
             } catch (IOException e) {
                 throw new RuntimeException(e);
             }
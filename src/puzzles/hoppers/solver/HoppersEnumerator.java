@@ -0,0 +1,266 @@
+package puzzles.hoppers.solver;
+
+import puzzles.hoppers.model.HoppersConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Walks every board reachable from a Hoppers puzzle and counts its solutions. Every jump removes
+ * a green frog, so the boards form layers by number of green frogs and no jump goes back to an
+ * earlier layer. The number of jump sequences reaching each board is the sum over the boards of
+ * the layer before that jump to it, so one pass over the layers counts every solution, and only
+ * the layer being expanded and the next one are kept.
+ *
+ * Boards are kept as two bit masks over the lily pads, one for the green frogs and one for the
+ * red frogs, in open addressing tables of primitive arrays.
+ *
+ * @author Daniel Baek
+ */
+public class HoppersEnumerator {
+    /**
+     * One layer of boards with the number of jump sequences from the start to each one
+     */
+    private static class Layer {
+        private long[] greens;
+        private long[] reds;
+        /** jump sequences reaching the board, 0 for an empty slot */
+        private long[] ways;
+        private int size = 0;
+        /**
+         * Creates an empty layer
+         *
+         * @param capacity = boards the layer can hold before it grows
+         */
+        private Layer(int capacity) {
+            int slots = Integer.highestOneBit(Math.max(16, capacity) * 2 - 1) * 2;
+            this.greens = new long[slots];
+            this.reds = new long[slots];
+            this.ways = new long[slots];
+        }
+        /**
+         * Adds jump sequences to a board, adding the board if it is new
+         *
+         * @param green = green frog mask
+         * @param red = red frog mask
+         * @param count = jump sequences to add
+         */
+        private void add(long green, long red, long count) {
+            if (2 * (this.size + 1) > this.ways.length) {
+                grow();
+            }
+            int mask = this.ways.length - 1;
+            int slot = hash(green, red) & mask;
+            while (this.ways[slot] != 0) {
+                if (this.greens[slot] == green && this.reds[slot] == red) {
+                    this.ways[slot] = Math.addExact(this.ways[slot], count);
+                    return;
+                }
+                slot = (slot + 1) & mask;
+            }
+            this.greens[slot] = green;
+            this.reds[slot] = red;
+            this.ways[slot] = count;
+            this.size += 1;
+        }
+        /**
+         * Doubles the number of slots
+         */
+        private void grow() {
+            long[] greens = this.greens;
+            long[] reds = this.reds;
+            long[] ways = this.ways;
+            this.greens = new long[ways.length * 2];
+            this.reds = new long[ways.length * 2];
+            this.ways = new long[ways.length * 2];
+            this.size = 0;
+            for (int i = 0; i < ways.length; i++) {
+                if (ways[i] != 0) {
+                    add(greens[i], reds[i], ways[i]);
+                }
+            }
+        }
+        /**
+         * Hashes a board
+         *
+         * @param green = green frog mask
+         * @param red = red frog mask
+         * @return hash
+         */
+        private static int hash(long green, long red) {
+            long value = (green * 0x9E3779B97F4A7C15L) ^ (red * 0xC2B2AE3D27D4EB4FL);
+            return (int) (value ^ (value >>> 32));
+        }
+    }
+
+    private final int[][] jumps;
+    private final long startGreens;
+    private final long startReds;
+    private final int greenCount;
+    private long states = 0;
+    private int widest = 0;
+    private long deadEnds = 0;
+    private long solvedBoards = 0;
+    private long solutions = 0;
+
+    /**
+     * Creates the enumeration of a puzzle
+     *
+     * @param start = puzzle to enumerate
+     */
+    public HoppersEnumerator(HoppersConfig start) {
+        int[] padIndex = HoppersPatternDatabase.padIndex(start);
+        int pads = Arrays.stream(padIndex).max().orElse(-1) + 1;
+        if (pads > Long.SIZE) {
+            throw new IllegalArgumentException("Board has " + pads + " lily pads, at most " + Long.SIZE + " are supported");
+        }
+        this.jumps = HoppersPatternDatabase.jumpTable(start.getRowDIM(), start.getColDIM(), padIndex, pads);
+        long greens = 0;
+        long reds = 0;
+        for (int row = 0; row < start.getRowDIM(); row++) {
+            for (int col = 0; col < start.getColDIM(); col++) {
+                int pad = padIndex[row * start.getColDIM() + col];
+                switch (start.getCell(row, col)) {
+                    case 'G' -> greens |= 1L << pad;
+                    case 'R' -> reds |= 1L << pad;
+                }
+            }
+        }
+        this.startGreens = greens;
+        this.startReds = reds;
+        this.greenCount = start.getGreenCount();
+    }
+
+    /**
+     * Expands every layer, from the start down to the boards with no green frogs
+     */
+    public void enumerate() {
+        Layer layer = new Layer(1);
+        layer.add(this.startGreens, this.startReds, 1);
+        for (int greens = this.greenCount; layer.size > 0; greens--) {
+            this.states += layer.size;
+            this.widest = Math.max(this.widest, layer.size);
+            if (greens == 0) {
+                for (int i = 0; i < layer.ways.length; i++) {
+                    if (layer.ways[i] != 0) {
+                        this.solvedBoards += 1;
+                        this.solutions = Math.addExact(this.solutions, layer.ways[i]);
+                    }
+                }
+                break;
+            }
+            Layer next = new Layer(layer.size);
+            for (int i = 0; i < layer.ways.length; i++) {
+                if (layer.ways[i] != 0 && !expand(layer.greens[i], layer.reds[i], layer.ways[i], next)) {
+                    this.deadEnds += 1;
+                }
+            }
+            // the layer is freed here, only the next one is kept
+            layer = next;
+        }
+    }
+
+    /**
+     * Makes every jump from a board and adds its jump sequences to the boards they lead to
+     *
+     * @param green = green frog mask
+     * @param red = red frog mask
+     * @param ways = jump sequences reaching the board
+     * @param next = layer to add to
+     * @return True if any jump could be made, false otherwise
+     */
+    private boolean expand(long green, long red, long ways, Layer next) {
+        long frogs = green | red;
+        boolean moved = false;
+        for (long rest = frogs; rest != 0; rest &= rest - 1) {
+            int from = Long.numberOfTrailingZeros(rest);
+            long fromBit = 1L << from;
+            int[] pairs = this.jumps[from];
+            for (int j = 0; j < pairs.length; j += 2) {
+                long overBit = 1L << pairs[j];
+                long toBit = 1L << pairs[j + 1];
+                if ((green & overBit) == 0 || (frogs & toBit) != 0) {
+                    continue;
+                }
+                moved = true;
+                if ((red & fromBit) != 0) {
+                    next.add(green ^ overBit, red ^ fromBit | toBit, ways);
+                } else {
+                    next.add(green ^ overBit ^ fromBit | toBit, red, ways);
+                }
+            }
+        }
+        return moved;
+    }
+
+    /**
+     * Gets the number of boards reachable from the start, the start included
+     *
+     * @return states
+     */
+    public long getStates() {
+        return this.states;
+    }
+
+    /**
+     * Gets the most boards in one layer, which bounds the memory used
+     *
+     * @return widest
+     */
+    public int getWidestLayer() {
+        return this.widest;
+    }
+
+    /**
+     * Gets the number of reachable boards with green frogs left and no jump
+     *
+     * @return deadEnds
+     */
+    public long getDeadEnds() {
+        return this.deadEnds;
+    }
+
+    /**
+     * Gets the number of distinct solved boards that can be reached
+     *
+     * @return solvedBoards
+     */
+    public long getSolvedBoards() {
+        return this.solvedBoards;
+    }
+
+    /**
+     * Gets the number of distinct jump sequences that solve the puzzle
+     *
+     * @return solutions
+     */
+    public long getSolutions() {
+        return this.solutions;
+    }
+
+    public static void main(String[] args) throws IOException {
+        String[] files = args;
+        if (files.length == 0) {
+            files = new File("data/hoppers").list((dir, name) -> name.endsWith(".txt"));
+            if (files == null) {
+                System.out.println("Usage: java HoppersEnumerator [filename...]");
+                return;
+            }
+            Arrays.sort(files);
+            for (int i = 0; i < files.length; i++) {
+                files[i] = "data/hoppers/" + files[i];
+            }
+        }
+        System.out.printf("%-28s%12s%10s%11s%9s%16s%9s%n",
+                "File", "States", "Widest", "Dead ends", "Solved", "Solutions", "Millis");
+        for (String file : files) {
+            long begin = System.currentTimeMillis();
+            HoppersEnumerator enumerator = new HoppersEnumerator(new HoppersConfig(file));
+            enumerator.enumerate();
+            System.out.printf("%-28s%12d%10d%11d%9d%16d%9d%n", file, enumerator.getStates(),
+                    enumerator.getWidestLayer(), enumerator.getDeadEnds(), enumerator.getSolvedBoards(),
+                    enumerator.getSolutions(), System.currentTimeMillis() - begin);
+        }
+    }
+}
@@ -0,0 +1,101 @@
+package puzzles.hoppers.solver;
+
+import puzzles.common.solver.Configuration;
+import puzzles.common.solver.MoveOrdering;
+import puzzles.hoppers.model.HoppersConfig;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.ToLongFunction;
+
+/**
+ * The orders a depth first search can try Hoppers jumps in
+ *
+ * @author Daniel Baek
+ */
+public enum HoppersOrdering {
+    /** the order HoppersConfig gives its neighbors in, the iteration order of a hash set of the boards */
+    NATURAL,
+    /** jumps that leave the fewest green frogs with no frog next to them first */
+    CONNECTED,
+    /** jumps by the red frog first, the default of the parallel search */
+    RED_FIRST,
+    /** jumps that have led nowhere the least often so far in the search first */
+    HISTORY;
+
+    /**
+     * Makes the ordering for a search of the given board
+     *
+     * @param start = board the search starts from
+     * @return the ordering
+     */
+    public MoveOrdering create(HoppersConfig start) {
+        return switch (this) {
+            case NATURAL -> MoveOrdering.NATURAL;
+            case CONNECTED -> (config, neighbors) -> sortBy(neighbors, HoppersConfig::getStrandedGreens);
+            case RED_FIRST -> (config, neighbors) -> sortBy(neighbors, neighbor ->
+                    neighbor.getCell(neighbor.getLastTo() / neighbor.getColDIM(), neighbor.getLastTo() % neighbor.getColDIM())
+                            == 'R' ? 0 : 1);
+            case HISTORY -> new History(start.getRowDIM() * start.getColDIM());
+        };
+    }
+    /**
+     * Sorts neighbors by a key, lowest first, keeping the natural order on ties
+     *
+     * @param neighbors = neighbors to sort
+     * @param key = key of a neighbor
+     * @return sorted neighbors
+     */
+    private static List<Configuration> sortBy(Collection<Configuration> neighbors, ToLongFunction<HoppersConfig> key) {
+        List<Configuration> sorted = new ArrayList<>(neighbors);
+        long[] keys = new long[sorted.size()];
+        List<Integer> indexes = new ArrayList<>(sorted.size());
+        for (int i = 0; i < keys.length; i++) {
+            keys[i] = key.applyAsLong((HoppersConfig) sorted.get(i));
+            indexes.add(i);
+        }
+        indexes.sort(Comparator.comparingLong(i -> keys[i]));
+        List<Configuration> result = new ArrayList<>(keys.length);
+        for (int i : indexes) {
+            result.add(sorted.get(i));
+        }
+        return result;
+    }
+    /**
+     * Counts how often each jump, from one cell to another, led nowhere and tries the jumps
+     * that failed the least first
+     */
+    private static class History implements MoveOrdering {
+        private final int cells;
+        private final AtomicLongArray failures;
+        /**
+         * Creates an empty history
+         *
+         * @param cells = number of cells on the board
+         */
+        private History(int cells) {
+            this.cells = cells;
+            this.failures = new AtomicLongArray(cells * cells);
+        }
+        @Override
+        public List<Configuration> order(Configuration config, Collection<Configuration> neighbors) {
+            return sortBy(neighbors, neighbor -> this.failures.get(index(neighbor)));
+        }
+        @Override
+        public void failed(Configuration config, Configuration neighbor) {
+            this.failures.incrementAndGet(index((HoppersConfig) neighbor));
+        }
+        /**
+         * Gets the history entry of the jump that made a configuration
+         *
+         * @param config = configuration made by a jump
+         * @return index into failures
+         */
+        private int index(HoppersConfig config) {
+            return config.getLastFrom() * this.cells + config.getLastTo();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package puzzles.hoppers.solver;
+
+import puzzles.common.solver.ParallelSolver;
+import puzzles.hoppers.model.HoppersConfig;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Compares the Hoppers move orderings by running a single worker depth first search with each
+ * one and counting the configurations made before the first solution is found
+ *
+ * @author Daniel Baek
+ */
+public class HoppersOrderingBenchmark {
+    public static void main(String[] args) throws IOException {
+        String[] files = args;
+        if (files.length == 0) {
+            files = new File("data/hoppers").list((dir, name) -> name.endsWith(".txt"));
+            if (files == null) {
+                System.out.println("Usage: java HoppersOrderingBenchmark [filename...]");
+                return;
+            }
+            Arrays.sort(files);
+            for (int i = 0; i < files.length; i++) {
+                files[i] = "data/hoppers/" + files[i];
+            }
+        }
+        System.out.printf("%-28s", "File");
+        for (HoppersOrdering ordering : HoppersOrdering.values()) {
+            System.out.printf("%12s", ordering);
+        }
+        System.out.println();
+        for (String file : files) {
+            HoppersConfig start = new HoppersConfig(file);
+            System.out.printf("%-28s", file);
+            for (HoppersOrdering ordering : HoppersOrdering.values()) {
+                // one worker, so the count does not depend on thread timing
+                ParallelSolver solver = new ParallelSolver(start, 1, ordering.create(start));
+                solver.solve();
+                System.out.printf("%12d", solver.getTotalConfigs());
+            }
+            System.out.println();
+        }
+    }
+}
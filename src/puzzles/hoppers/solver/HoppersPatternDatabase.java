@@ -0,0 +1,498 @@
+package puzzles.hoppers.solver;
+
+import puzzles.common.solver.Configuration;
+import puzzles.hoppers.model.HoppersConfig;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+
+/**
+ * An endgame database for one Hoppers board layout: every placement of the red frog and up to
+ * maxGreens green frogs on the lily pads of the layout that can still be solved. It is built
+ * offline from the geometry alone, by making every reverse jump from each board holding only
+ * the red frog, the same way HoppersGenerator makes puzzles.
+ *
+ * Every jump removes one green frog, so the cost of a solvable board is always its number of
+ * green frogs and the database does not need to store costs. What it adds is exact
+ * solvability: a board with at most maxGreens green frogs that is not in the database has no
+ * solution and can be pruned from any search.
+ *
+ * Each board is packed into a long, six bits per frog holding its lily pad index plus one, red
+ * frog first and green frogs in increasing order, and the longs are kept sorted so a lookup is
+ * a binary search. Saved databases are memory mapped when loaded instead of read onto the heap.
+ *
+ * @author Daniel Baek
+ */
+public class HoppersPatternDatabase {
+    /** marks a pattern database file */
+    private final static int MAGIC = 0x48504442;
+    /** bits per frog in a packed board */
+    private final static int BITS = 6;
+    /** the most lily pads a layout may have, so every pad index plus one fits in BITS */
+    public final static int MAX_PADS = (1 << BITS) - 1;
+    /** the most green frogs a database may hold, so every frog fits in a long */
+    public final static int MAX_GREENS = 64 / BITS - 1;
+    /** diagonal jump directions, as the step to the jumped cell */
+    private final static int[][] DIAGONALS = {{-1, -1}, {1, 1}, {-1, 1}, {1, -1}};
+    /** horizontal and vertical jump directions, only used on even rows and cols */
+    private final static int[][] STRAIGHTS = {{2, 0}, {-2, 0}, {0, -2}, {0, 2}};
+    private final int rowDIM;
+    private final int colDIM;
+    private final int maxGreens;
+    /** lily pad index of each cell, row * colDIM + col, -1 for water */
+    private final int[] padIndex;
+    /** solvable boards, packed and sorted */
+    private final LongBuffer boards;
+
+    /**
+     * Creates a database over the given boards
+     *
+     * @param rowDIM = number of rows
+     * @param colDIM = number of cols
+     * @param maxGreens = most green frogs of the boards
+     * @param padIndex = lily pad index of each cell, -1 for water
+     * @param boards = solvable boards, packed and sorted
+     */
+    private HoppersPatternDatabase(int rowDIM, int colDIM, int maxGreens, int[] padIndex, LongBuffer boards) {
+        this.rowDIM = rowDIM;
+        this.colDIM = colDIM;
+        this.maxGreens = maxGreens;
+        this.padIndex = padIndex;
+        this.boards = boards;
+    }
+
+    /**
+     * Builds the database for the layout of a board
+     *
+     * @param layout = board whose lily pads and water are used, the frogs on it are ignored
+     * @param maxGreens = most green frogs to store boards for
+     * @return the database
+     */
+    public static HoppersPatternDatabase build(HoppersConfig layout, int maxGreens) {
+        if (maxGreens < 0 || maxGreens > MAX_GREENS) {
+            throw new IllegalArgumentException("Green frogs must be between 0 and " + MAX_GREENS);
+        }
+        int rowDIM = layout.getRowDIM();
+        int colDIM = layout.getColDIM();
+        int[] padIndex = padIndex(layout);
+        int pads = Arrays.stream(padIndex).max().orElse(-1) + 1;
+        if (pads > MAX_PADS) {
+            throw new IllegalArgumentException("Layout has " + pads + " lily pads, at most " + MAX_PADS + " are supported");
+        }
+        int[][] jumps = jumpTable(rowDIM, colDIM, padIndex, pads);
+        // boards with no green frogs are solved, wherever the red frog is
+        long[] level = new long[pads];
+        for (int pad = 0; pad < pads; pad++) {
+            level[pad] = pad + 1;
+        }
+        long[] all = level;
+        for (int greens = 1; greens <= maxGreens; greens++) {
+            level = unJumps(level, jumps, pads);
+            long[] merged = Arrays.copyOf(all, all.length + level.length);
+            System.arraycopy(level, 0, merged, all.length, level.length);
+            all = merged;
+        }
+        Arrays.sort(all);
+        return new HoppersPatternDatabase(rowDIM, colDIM, maxGreens, padIndex, LongBuffer.wrap(all));
+    }
+
+    /**
+     * Numbers the lily pads of a layout in row major order
+     *
+     * @param layout = board whose lily pads and water are used
+     * @return lily pad index of each cell, row * colDIM + col, -1 for water
+     */
+    static int[] padIndex(HoppersConfig layout) {
+        int[] padIndex = new int[layout.getRowDIM() * layout.getColDIM()];
+        int pads = 0;
+        for (int row = 0; row < layout.getRowDIM(); row++) {
+            for (int col = 0; col < layout.getColDIM(); col++) {
+                padIndex[row * layout.getColDIM() + col] = layout.getCell(row, col) == '*' ? -1 : pads++;
+            }
+        }
+        return padIndex;
+    }
+
+    /**
+     * Finds, for every lily pad, the jumps that land on it. Jumps can be made backwards, a
+     * straight jump lands on an even row and col exactly when it starts on one, so these are
+     * also the jumps that start from it with the same cell jumped.
+     *
+     * @param rowDIM = number of rows
+     * @param colDIM = number of cols
+     * @param padIndex = lily pad index of each cell, -1 for water
+     * @param pads = number of lily pads
+     * @return for each lily pad, pairs of (jumped pad, pad jumped from)
+     */
+    static int[][] jumpTable(int rowDIM, int colDIM, int[] padIndex, int pads) {
+        int[][] jumps = new int[pads][];
+        for (int row = 0; row < rowDIM; row++) {
+            for (int col = 0; col < colDIM; col++) {
+                int to = padIndex[row * colDIM + col];
+                if (to < 0) {
+                    continue;
+                }
+                int[] pairs = new int[2 * (DIAGONALS.length + STRAIGHTS.length)];
+                int n = 0;
+                for (int[] d : DIAGONALS) {
+                    n = addJump(pairs, n, rowDIM, colDIM, padIndex, row, col, d);
+                }
+                if (row % 2 == 0 && col % 2 == 0) {
+                    for (int[] d : STRAIGHTS) {
+                        n = addJump(pairs, n, rowDIM, colDIM, padIndex, row, col, d);
+                    }
+                }
+                jumps[to] = Arrays.copyOf(pairs, n);
+            }
+        }
+        return jumps;
+    }
+
+    /**
+     * Adds the jump that lands on a cell from the given direction if all of its cells are lily pads
+     *
+     * @param pairs = pairs to add to
+     * @param n = number of ints in pairs so far
+     * @param rowDIM = number of rows
+     * @param colDIM = number of cols
+     * @param padIndex = lily pad index of each cell, -1 for water
+     * @param row = row landed on
+     * @param col = col landed on
+     * @param d = step from the landing cell to the jumped cell
+     * @return number of ints in pairs
+     */
+    private static int addJump(int[] pairs, int n, int rowDIM, int colDIM, int[] padIndex, int row, int col, int[] d) {
+        int fromRow = row + 2 * d[0];
+        int fromCol = col + 2 * d[1];
+        if (fromRow < 0 || fromRow >= rowDIM || fromCol < 0 || fromCol >= colDIM) {
+            return n;
+        }
+        int over = padIndex[(row + d[0]) * colDIM + col + d[1]];
+        int from = padIndex[fromRow * colDIM + fromCol];
+        if (over < 0 || from < 0) {
+            return n;
+        }
+        pairs[n] = over;
+        pairs[n + 1] = from;
+        return n + 2;
+    }
+
+    /**
+     * Makes every board one reverse jump before the given boards
+     *
+     * @param level = packed boards that all have the same number of green frogs
+     * @param jumps = jump table
+     * @param pads = number of lily pads
+     * @return packed boards with one more green frog, sorted and without repeats
+     */
+    private static long[] unJumps(long[] level, int[][] jumps, int pads) {
+        long[] next = new long[Math.max(16, level.length * 4)];
+        int size = 0;
+        boolean[] occupied = new boolean[pads];
+        int[] frogs = new int[MAX_GREENS + 1];
+        for (long board : level) {
+            int count = unpack(board, frogs);
+            for (int i = 0; i < count; i++) {
+                occupied[frogs[i]] = true;
+            }
+            for (int i = 0; i < count; i++) {
+                int frog = frogs[i];
+                int[] pairs = jumps[frog];
+                for (int j = 0; j < pairs.length; j += 2) {
+                    int over = pairs[j];
+                    int from = pairs[j + 1];
+                    if (occupied[over] || occupied[from]) {
+                        continue;
+                    }
+                    if (size == next.length) {
+                        next = Arrays.copyOf(next, next.length * 2);
+                    }
+                    // the frog goes back to where it jumped from and the jumped green frog returns
+                    frogs[i] = from;
+                    next[size++] = pack(frogs, count, over);
+                    frogs[i] = frog;
+                }
+            }
+            for (int i = 0; i < count; i++) {
+                occupied[frogs[i]] = false;
+            }
+        }
+        Arrays.sort(next, 0, size);
+        int unique = 0;
+        for (int i = 0; i < size; i++) {
+            if (unique == 0 || next[i] != next[unique - 1]) {
+                next[unique++] = next[i];
+            }
+        }
+        return Arrays.copyOf(next, unique);
+    }
+
+    /**
+     * Packs frogs into a long, red frog first and green frogs in increasing order
+     *
+     * @param frogs = lily pads of the frogs, red frog first
+     * @param count = number of frogs
+     * @param extra = lily pad of one more green frog, -1 for none
+     * @return packed board
+     */
+    private static long pack(int[] frogs, int count, int extra) {
+        int[] greens = new int[count - 1 + (extra < 0 ? 0 : 1)];
+        System.arraycopy(frogs, 1, greens, 0, count - 1);
+        if (extra >= 0) {
+            greens[count - 1] = extra;
+        }
+        Arrays.sort(greens);
+        long board = frogs[0] + 1;
+        for (int green : greens) {
+            board = board << BITS | (green + 1);
+        }
+        return board;
+    }
+
+    /**
+     * Unpacks a board, red frog first
+     *
+     * @param board = packed board
+     * @param frogs = gets the lily pads of the frogs
+     * @return number of frogs
+     */
+    private static int unpack(long board, int[] frogs) {
+        int count = 0;
+        for (long rest = board; rest != 0; rest >>>= BITS) {
+            count += 1;
+        }
+        for (int i = count - 1; i >= 0; i--) {
+            frogs[i] = (int) (board & MAX_PADS) - 1;
+            board >>>= BITS;
+        }
+        return count;
+    }
+
+    /**
+     * Checks if the database knows whether a board can be solved: it has the same layout, one
+     * red frog and at most maxGreens green frogs
+     *
+     * @param config = board
+     * @return True if the database covers the board, false otherwise
+     */
+    public boolean covers(HoppersConfig config) {
+        return key(config) != 0;
+    }
+
+    /**
+     * Checks if a board covered by the database can be solved
+     *
+     * @param config = board
+     * @return True if the board is covered and can be solved, false otherwise
+     */
+    public boolean isSolvable(HoppersConfig config) {
+        long key = key(config);
+        return key != 0 && contains(key);
+    }
+
+    /**
+     * Checks if a board is covered by the database and cannot be solved, for pruning a search
+     *
+     * @param config = board
+     * @return True if the board has no solution, false if it has one or is not covered
+     */
+    public boolean isDeadEnd(Configuration config) {
+        long key = key((HoppersConfig) config);
+        return key != 0 && !contains(key);
+    }
+
+    /**
+     * Packs a board covered by the database
+     *
+     * @param config = board
+     * @return packed board, or 0 if the board is not covered
+     */
+    private long key(HoppersConfig config) {
+        if (config.getGreenCount() > this.maxGreens || config.getRowDIM() != this.rowDIM
+                || config.getColDIM() != this.colDIM) {
+            return 0;
+        }
+        int[] frogs = new int[this.maxGreens + 1];
+        int count = 1;
+        boolean red = false;
+        for (int row = 0; row < this.rowDIM; row++) {
+            for (int col = 0; col < this.colDIM; col++) {
+                char cell = config.getCell(row, col);
+                int pad = this.padIndex[row * this.colDIM + col];
+                if (pad < 0 && cell != '*') {
+                    // a different layout
+                    return 0;
+                }
+                if (cell == 'R') {
+                    if (red) {
+                        return 0;
+                    }
+                    red = true;
+                    frogs[0] = pad;
+                } else if (cell == 'G') {
+                    frogs[count++] = pad;
+                }
+            }
+        }
+        return red ? pack(frogs, count, -1) : 0;
+    }
+
+    /**
+     * Searches the sorted boards for a packed board
+     *
+     * @param key = packed board
+     * @return True if the board is in the database, false otherwise
+     */
+    private boolean contains(long key) {
+        int low = 0;
+        int high = this.boards.limit() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long board = this.boards.get(mid);
+            if (board < key) {
+                low = mid + 1;
+            } else if (board > key) {
+                high = mid - 1;
+            } else {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets the most green frogs of the boards in the database
+     *
+     * @return this.maxGreens
+     */
+    public int getMaxGreens() {
+        return this.maxGreens;
+    }
+
+    /**
+     * Gets the number of solvable boards in the database
+     *
+     * @return number of boards
+     */
+    public int size() {
+        return this.boards.limit();
+    }
+
+    /**
+     * Saves the database. The file holds a header with the layout followed by the sorted boards.
+     *
+     * @param file = file to write
+     */
+    public void save(Path file) throws IOException {
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file.toFile())))) {
+            out.writeInt(MAGIC);
+            out.writeInt(this.rowDIM);
+            out.writeInt(this.colDIM);
+            out.writeInt(this.maxGreens);
+            for (int index : this.padIndex) {
+                out.writeByte(index < 0 ? 0 : 1);
+            }
+            // pad the header so the boards start on a long boundary and can be mapped as longs
+            int header = 4 * Integer.BYTES + this.padIndex.length;
+            for (int i = header; i % Long.BYTES != 0; i++) {
+                out.writeByte(0);
+            }
+            for (int i = 0; i < this.boards.limit(); i++) {
+                out.writeLong(this.boards.get(i));
+            }
+        }
+    }
+
+    /**
+     * Loads a saved database, mapping its boards from the file
+     *
+     * @param file = file written by save
+     * @return the database
+     */
+    public static HoppersPatternDatabase load(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a pattern database: " + file);
+            }
+            int rowDIM = buffer.getInt();
+            int colDIM = buffer.getInt();
+            int maxGreens = buffer.getInt();
+            int[] padIndex = new int[rowDIM * colDIM];
+            int pads = 0;
+            for (int i = 0; i < padIndex.length; i++) {
+                padIndex[i] = buffer.get() == 0 ? -1 : pads++;
+            }
+            while (buffer.position() % Long.BYTES != 0) {
+                buffer.get();
+            }
+            return new HoppersPatternDatabase(rowDIM, colDIM, maxGreens, padIndex, buffer.slice().asLongBuffer());
+        }
+    }
+
+    /**
+     * Loads the database saved in a file if it fits the layout of a board, otherwise builds it
+     * and saves it there so it is only built once
+     *
+     * @param board = board whose layout the database is for
+     * @param maxGreens = most green frogs to store boards for
+     * @param file = file the database is saved in
+     * @return the database
+     */
+    public static HoppersPatternDatabase forBoard(HoppersConfig board, int maxGreens, Path file) throws IOException {
+        if (Files.exists(file)) {
+            HoppersPatternDatabase saved = load(file);
+            if (saved.maxGreens == maxGreens && saved.fits(board)) {
+                return saved;
+            }
+        }
+        HoppersPatternDatabase built = build(board, maxGreens);
+        built.save(file);
+        return built;
+    }
+
+    /**
+     * Checks if a board has the layout of the database
+     *
+     * @param board = board
+     * @return True if the lily pads and water match, false otherwise
+     */
+    private boolean fits(HoppersConfig board) {
+        if (board.getRowDIM() != this.rowDIM || board.getColDIM() != this.colDIM) {
+            return false;
+        }
+        for (int row = 0; row < this.rowDIM; row++) {
+            for (int col = 0; col < this.colDIM; col++) {
+                if ((board.getCell(row, col) == '*') != (this.padIndex[row * this.colDIM + col] < 0)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2 || args.length > 3) {
+            System.out.println("Usage: java HoppersPatternDatabase filename greens [database]");
+            return;
+        }
+        HoppersConfig board = new HoppersConfig(args[0]);
+        long start = System.currentTimeMillis();
+        HoppersPatternDatabase database = build(board, Integer.parseInt(args[1]));
+        System.out.println("Boards: " + database.size());
+        System.out.println("Built in: " + (System.currentTimeMillis() - start) + " ms");
+        if (args.length == 3) {
+            database.save(Path.of(args[2]));
+            System.out.println("Saved: " + args[2]);
+        }
+    }
+}
@@ -0,0 +1,275 @@
+package puzzles.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import puzzles.clock.ClockConfig;
+import puzzles.common.solver.Solver;
+import puzzles.hoppers.model.HoppersConfig;
+import puzzles.strings.StringsConfig;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * A long-running HTTP server on the local machine that solves Hoppers, Clock and Strings puzzles,
+ * so other tools do not have to start a JVM for every solve. Requests run on a fixed number of
+ * threads and finished answers are kept in a shared cache.
+ *
+ * <ul>
+ *     <li>POST /hoppers with a puzzle in the hoppers file format as the body</li>
+ *     <li>GET /clock?hours=12&amp;start=2&amp;end=11</li>
+ *     <li>GET /strings?start=CAT&amp;end=DOG</li>
+ * </ul>
+ * The answer is the same text the command line solvers print, followed by the solve time
+ * and whether it came from the cache.
+ *
+ * @author Daniel Baek
+ */
+public class SolverServer {
+    /** the port used when none is given */
+    private final static int DEFAULT_PORT = 8080;
+    /** the most answers kept in the cache */
+    private final static int CACHE_SIZE = 1000;
+    /** the most unique configurations a request may store, so one request cannot use up the heap */
+    private final static int SOLVE_BUDGET = 2_000_000;
+    /** the most rows or cols of a Hoppers board, checked before the board is made */
+    private final static int MAX_DIM = 32;
+    /** the most requests handled at once, the others wait for a thread */
+    private final static int THREADS = Runtime.getRuntime().availableProcessors();
+    /** answers by puzzle, least recently used first */
+    private final Map<String, String> cache = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, String> eldest) {
+            return size() > CACHE_SIZE;
+        }
+    };
+    /** answers still being solved, so the same puzzle asked twice at once is only solved once */
+    private final Map<String, CompletableFuture<String>> solving = new ConcurrentHashMap<>();
+    private final HttpServer server;
+    private final ExecutorService executor;
+    /**
+     * Creates the server, listening only on the loopback address
+     *
+     * @param port = port to listen on
+     */
+    public SolverServer(int port) throws IOException {
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.executor = Executors.newFixedThreadPool(THREADS);
+        this.server.setExecutor(this.executor);
+        this.server.createContext("/hoppers", exchange -> handle(exchange, this::solveHoppers));
+        this.server.createContext("/clock", exchange -> handle(exchange, this::solveClock));
+        this.server.createContext("/strings", exchange -> handle(exchange, this::solveStrings));
+    }
+    /**
+     * Solves a puzzle request
+     */
+    private interface Handler {
+        /**
+         * Solves the puzzle of the request
+         *
+         * @param query = query parameters of the request
+         * @param body = body of the request
+         * @return the answer
+         */
+        String solve(Map<String, String> query, String body) throws IOException;
+    }
+    /**
+     * Starts accepting requests
+     */
+    public void start() {
+        this.server.start();
+    }
+    /**
+     * Stops accepting requests and waits up to a second for running ones to finish
+     */
+    public void stop() {
+        this.server.stop(1);
+        this.executor.shutdown();
+    }
+    /**
+     * Answers a request from the cache, or solves it and caches the answer. A request that fails
+     * in the server, such as one running out of memory, is answered with a 500 and the requests
+     * waiting on the same puzzle get the same failure.
+     *
+     * @param exchange = the request
+     * @param handler = solves the puzzle of the request
+     */
+    private void handle(HttpExchange exchange, Handler handler) throws IOException {
+        int status = 200;
+        String answer;
+        try {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            String key = exchange.getHttpContext().getPath() + "?" + query + "\n" + body.strip();
+            String cached;
+            synchronized (this.cache) {
+                cached = this.cache.get(key);
+            }
+            if (cached != null) {
+                answer = cached + "Cached: true" + System.lineSeparator();
+            } else {
+                long start = System.nanoTime();
+                CompletableFuture<String> mine = new CompletableFuture<>();
+                CompletableFuture<String> running = this.solving.putIfAbsent(key, mine);
+                if (running == null) {
+                    try {
+                        String solved = handler.solve(query, body);
+                        synchronized (this.cache) {
+                            this.cache.put(key, solved);
+                        }
+                        mine.complete(solved);
+                    } catch (Throwable e) {
+                        mine.completeExceptionally(e);
+                    } finally {
+                        // never leave the requests waiting on this puzzle hanging
+                        mine.completeExceptionally(new IllegalStateException("solve did not finish"));
+                        this.solving.remove(key, mine);
+                    }
+                    running = mine;
+                }
+                answer = running.get() + "Time: " + (System.nanoTime() - start) / 1_000_000 + " ms" + System.lineSeparator()
+                        + "Cached: false" + System.lineSeparator();
+            }
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException || e.getCause() instanceof IOException) {
+                status = 400;
+                answer = "Bad request: " + e.getCause().getMessage() + System.lineSeparator();
+            } else {
+                status = 500;
+                answer = "Server error: " + e.getCause() + System.lineSeparator();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            status = 503;
+            answer = "Interrupted" + System.lineSeparator();
+        } catch (RuntimeException | IOException e) {
+            status = 400;
+            answer = "Bad request: " + e.getMessage() + System.lineSeparator();
+        } catch (Throwable e) {
+            status = 500;
+            answer = "Server error: " + e + System.lineSeparator();
+        }
+        byte[] bytes = answer.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+    /**
+     * Splits a query string into its parameters
+     *
+     * @param query = raw query string, may be null
+     * @return parameters sorted by name
+     */
+    private static Map<String, String> parseQuery(String query) {
+        Map<String, String> result = new TreeMap<>();
+        if (query == null) {
+            return result;
+        }
+        for (String pair : query.split("&")) {
+            int equals = pair.indexOf('=');
+            if (equals > 0) {
+                result.put(URLDecoder.decode(pair.substring(0, equals), StandardCharsets.UTF_8),
+                        URLDecoder.decode(pair.substring(equals + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return result;
+    }
+    /**
+     * Gets a required query parameter
+     *
+     * @param query = query parameters
+     * @param name = name of the parameter
+     * @return value of the parameter
+     */
+    private static String require(Map<String, String> query, String name) {
+        String value = query.get(name);
+        if (value == null) {
+            throw new IllegalArgumentException("missing " + name);
+        }
+        return value;
+    }
+    /**
+     * Solves a Hoppers puzzle sent in the hoppers file format
+     */
+    private String solveHoppers(Map<String, String> query, String body) throws IOException {
+        String[] dim = body.strip().split("\\s+", 3);
+        if (dim.length < 2) {
+            throw new IllegalArgumentException("missing board size");
+        }
+        int rows = Integer.parseInt(dim[0]);
+        int cols = Integer.parseInt(dim[1]);
+        if (rows < 1 || rows > MAX_DIM || cols < 1 || cols > MAX_DIM) {
+            throw new IllegalArgumentException("board size must be 1 to " + MAX_DIM + " by 1 to " + MAX_DIM);
+        }
+        HoppersConfig hopper = new HoppersConfig(new BufferedReader(new StringReader(body)));
+        Solver solver = new Solver(hopper);
+        solver.setBudget(SOLVE_BUDGET);
+        solver.setFallbackDepth(hopper.getRowDIM() * hopper.getColDIM());
+        return display(solver, "File: request" + System.lineSeparator() + hopper + System.lineSeparator());
+    }
+    /**
+     * Solves a Clock puzzle given by hours, start and end
+     */
+    private String solveClock(Map<String, String> query, String body) {
+        int hours = Integer.parseInt(require(query, "hours"));
+        int start = Integer.parseInt(require(query, "start"));
+        int end = Integer.parseInt(require(query, "end"));
+        Solver solver = new Solver(new ClockConfig(hours, start, end));
+        solver.setBudget(SOLVE_BUDGET);
+        return display(solver, "Hours: " + hours + ", Start: " + start + ", End: " + end + System.lineSeparator());
+    }
+    /**
+     * Solves a Strings puzzle given by start and end
+     */
+    private String solveStrings(Map<String, String> query, String body) {
+        String start = require(query, "start");
+        String end = require(query, "end");
+        Solver solver = new Solver(new StringsConfig(start, end));
+        solver.setBudget(SOLVE_BUDGET);
+        return display(solver, "Start: " + start + ", End: " + end + System.lineSeparator());
+    }
+    /**
+     * Runs the solver and gets what it would print
+     *
+     * @param solver = solver to run
+     * @param header = text before the solver's output
+     * @return the header and the solver's output
+     */
+    private static String display(Solver solver, String header) {
+        solver.solve();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        PrintStream out = new PrintStream(bytes, false, StandardCharsets.UTF_8);
+        out.print(header);
+        solver.display(out);
+        out.flush();
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+    public static void main(String[] args) throws IOException {
+        if (args.length > 1) {
+            System.out.println("Usage: java SolverServer [port]");
+        } else {
+            int port = args.length == 1 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+            SolverServer server = new SolverServer(port);
+            server.start();
+            System.out.println("Listening on http://localhost:" + port + "/ (hoppers, clock, strings)");
+        }
+    }
+}
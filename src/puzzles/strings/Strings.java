@@ -1,30 +1,46 @@
 package puzzles.strings;
 
+import puzzles.common.solver.Configuration;
 import puzzles.common.solver.Solver;
 
 import java.io.IOException;
+import java.util.List;
 
 /**
  * Gets the arguments of the program (start, end)
  * Creates a new StringsConfig (the initial configuration)
  * Creates a new Solver with the initial StringsConfig
  * Displays start and end strings
- * Calls solver.solve to get the shortest path
+ * Calls solver.solve to get the shortest path, or solves each character on its own when "decomposed" is given
  *
  * @author Daniel Baek
  */
 public class Strings {
     public static void main(String[] args) throws IOException {
         if (args.length < 2) {
-            System.out.println(("Usage: java Strings start finish"));
+            System.out.println(("Usage: java Strings start finish [decomposed | approximate errorRate expectedConfigs]"));
         } else {
             String start = args[0];
             String end = args[1];
             StringsConfig string = new StringsConfig(start, end);
-            Solver solver = new Solver(string);
             System.out.println("Start: " + start + ", End: " + end);
-            solver.solve();
-            solver.display();
+            if (args.length > 2 && args[2].equals("decomposed")) {
+                // a move never changes the length, so Strings of different lengths have no solution
+                List<Configuration> path = start.length() == end.length() ? string.decomposedPath() : List.of();
+                if (path.isEmpty()) {
+                    System.out.println("No solution");
+                }
+                for (int i = 0; i < path.size(); i++) {
+                    System.out.println("Step " + i + ": " + path.get(i));
+                }
+            } else {
+                Solver solver = new Solver(string);
+                if (args.length > 4 && args[2].equals("approximate")) {
+                    solver.setApproximate(Double.parseDouble(args[3]), Long.parseLong(args[4]));
+                }
+                solver.solve();
+                solver.display();
+            }
         }
     }
 }
@@ -1,19 +1,35 @@
 package puzzles.strings;
 
 import puzzles.common.solver.Configuration;
+import puzzles.common.solver.ProductConfiguration;
+import puzzles.common.solver.ProductSolver;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 
 /**
  *
  * The Configuration of a string
  *
+ * Words of up to 12 uppercase letters are packed into a single long, 5 bits per letter, and
+ * their neighbors are made by arithmetic on that long. Any other string is kept as a String.
+ *
  * @author Daniel Baek
  */
-public class StringsConfig implements Configuration {
+public class StringsConfig implements ProductConfiguration {
+    /** Longest word that fits in a long at 5 bits per letter */
+    private final static int MAX_PACKED = 12;
+    /** Bits used for each letter */
+    private final static int BITS = 5;
+    private final static long MASK = (1L << BITS) - 1;
+    /** Marks a string that is not packed */
+    private final static long UNPACKED = -1;
     private final String child;
-    private static String end;
+    private final long packed;
+    private final int length;
+    private final String end;
+    private final long endPacked;
     /**
      * Creates a new StringsConfig, mainly used to generate the initial (main) StringsConfig
      *
@@ -21,16 +37,53 @@ public class StringsConfig implements Configuration {
      * @param end = finish String
      */
     public StringsConfig(String child, String end) {
-        this.child = child;
-        StringsConfig.end = end;
+        this(child, pack(child), child.length(), end, pack(end));
     }
     /**
      * Creates a new StringsConfig, mainly used to generate the neighbor StringsConfig
      *
-     * @param child = child String
+     * @param child = child String, null if it is packed
+     * @param packed = packed child, UNPACKED if it is not packed
+     * @param length = length of the child
+     * @param end = finish String
+     * @param endPacked = packed finish String, UNPACKED if it is not packed
      */
-    public StringsConfig(String child) {
-        this.child = child;
+    private StringsConfig(String child, long packed, int length, String end, long endPacked) {
+        this.child = packed == UNPACKED ? child : null;
+        this.packed = packed;
+        this.length = length;
+        this.end = end;
+        this.endPacked = endPacked;
+    }
+    /**
+     * Packs a word of uppercase letters into a long
+     *
+     * @param word = word
+     * @return packed word, or UNPACKED if the word is too long or not all uppercase letters
+     */
+    private static long pack(String word) {
+        if (word.length() > MAX_PACKED) {
+            return UNPACKED;
+        }
+        long result = 0;
+        for (int c = 0; c < word.length(); c++) {
+            char letter = word.charAt(c);
+            if (letter < 'A' || letter > 'Z') {
+                return UNPACKED;
+            }
+            result |= (long) (letter - 'A') << (BITS * c);
+        }
+        return result;
+    }
+    /**
+     * Makes a neighbor from a String, packing it when possible so equal strings are always
+     * stored the same way
+     *
+     * @param word = neighbor String
+     * @return neighbor
+     */
+    private StringsConfig neighbor(String word) {
+        return new StringsConfig(word, pack(word), this.length, this.end, this.endPacked);
     }
     /**
      * Checks if the child (current) String is equal to the finish String
@@ -39,6 +92,9 @@ public class StringsConfig implements Configuration {
      */
     @Override
     public boolean isSolution() {
+        if (this.packed != UNPACKED) {
+            return this.packed == this.endPacked && this.length == this.end.length();
+        }
         return this.child.equals(end);
     }
     /**
@@ -48,7 +104,19 @@ public class StringsConfig implements Configuration {
      */
     @Override
     public Collection<Configuration> getNeighbors() {
-        ArrayList<Configuration> neighbors = new ArrayList<>();
+        ArrayList<Configuration> neighbors = new ArrayList<>(2 * this.length);
+        if (this.packed != UNPACKED) {
+            for (int c = 0; c < this.length; c++) {
+                int shift = BITS * c;
+                long letter = (this.packed >>> shift) & MASK;
+                long cleared = this.packed & ~(MASK << shift);
+                long up = letter == 25 ? 0 : letter + 1;
+                long down = letter == 0 ? 25 : letter - 1;
+                neighbors.add(new StringsConfig(null, cleared | (down << shift), this.length, this.end, this.endPacked));
+                neighbors.add(new StringsConfig(null, cleared | (up << shift), this.length, this.end, this.endPacked));
+            }
+            return neighbors;
+        }
         for (int c = 0; c < this.child.length(); c++) {
             char main = this.child.charAt(c);
             char c1 = (char) (main + 1);
@@ -63,13 +131,69 @@ public class StringsConfig implements Configuration {
             }
             StringBuilder string2 = new StringBuilder(this.child);
             string2.setCharAt(c, c2);
-            StringsConfig cOne = new StringsConfig(String.valueOf(string1));
-            StringsConfig cTwo = new StringsConfig(String.valueOf(string2));
+            StringsConfig cOne = neighbor(String.valueOf(string1));
+            StringsConfig cTwo = neighbor(String.valueOf(string2));
             neighbors.add(cTwo);
             neighbors.add(cOne);
         }
         return neighbors;
     }
+    /**
+     * Checks that this String and the finish String have the same length, so they can be split
+     * into characters that pair up
+     */
+    private void checkSameLength() {
+        if (this.length != end.length()) {
+            throw new IllegalArgumentException("Start and finish must have the same length, not "
+                    + this.length + " and " + end.length());
+        }
+    }
+    /**
+     * Gets every character as its own one character StringsConfig, since a move only changes
+     * one character. The start and finish Strings must have the same length.
+     *
+     * @return one StringsConfig per character, the first character first
+     */
+    @Override
+    public List<Configuration> getComponents() {
+        checkSameLength();
+        String current = toString();
+        List<Configuration> components = new ArrayList<>(current.length());
+        for (int c = 0; c < current.length(); c++) {
+            components.add(new StringsConfig(current.substring(c, c + 1), end.substring(c, c + 1)));
+        }
+        return components;
+    }
+    /**
+     * Joins one character StringsConfigs back into a full StringsConfig
+     *
+     * @param components = one StringsConfig per character
+     * @return the StringsConfig of all the characters
+     */
+    @Override
+    public Configuration combine(List<Configuration> components) {
+        StringBuilder word = new StringBuilder(components.size());
+        for (Configuration component : components) {
+            word.append(component);
+        }
+        return new StringsConfig(word.toString(), end);
+    }
+    /**
+     * Gets the shortest path by solving each character on its own. A move only changes one
+     * character, so the shortest path is the sum of the shortest path of every character.
+     * The characters are solved from first to last and their moves are played in that order,
+     * which is the same path the BFS solver finds since it tries the first character first.
+     * The start and finish Strings must have the same length.
+     *
+     * @return path from this String to the finish String, both included, or empty if there is
+     *         no solution
+     */
+    public List<Configuration> decomposedPath() {
+        checkSameLength();
+        ProductSolver solver = new ProductSolver(this);
+        solver.solve();
+        return solver.getPath();
+    }
     /**
      * Checks if the child String is equal to the other
      *
@@ -80,7 +204,11 @@ public class StringsConfig implements Configuration {
     public boolean equals(Object other) {
         boolean result = false;
         if (other instanceof StringsConfig s) {
-            result = this.child.equals(s.child);
+            if (this.packed != UNPACKED || s.packed != UNPACKED) {
+                result = this.packed == s.packed && this.length == s.length;
+            } else {
+                result = this.child.equals(s.child);
+            }
         }
         return result;
     }
@@ -91,8 +219,28 @@ public class StringsConfig implements Configuration {
      */
     @Override
     public int hashCode() {
+        if (this.packed != UNPACKED) {
+            return Long.hashCode(this.packed * 0x9E3779B97F4A7C15L);
+        }
         return Objects.hashCode(this.child);
     }
+    /**
+     * Gets a 64 bit hash of the child String for the approximate visited filter of the solver.
+     * A packed word is its own fingerprint, with the length in the top bits.
+     *
+     * @return fingerprint of the child String
+     */
+    @Override
+    public long fingerprint() {
+        if (this.packed != UNPACKED) {
+            return this.packed | (long) this.length << (MAX_PACKED * BITS);
+        }
+        long hash = 0xCBF29CE484222325L;
+        for (int i = 0; i < this.child.length(); i++) {
+            hash = (hash ^ this.child.charAt(i)) * 0x100000001B3L;
+        }
+        return hash;
+    }
     /**
      * Represents the StringsConfig as the child value
      *
@@ -100,6 +248,13 @@ public class StringsConfig implements Configuration {
      */
     @Override
     public String toString() {
-        return this.child;
+        if (this.packed == UNPACKED) {
+            return this.child;
+        }
+        char[] letters = new char[this.length];
+        for (int c = 0; c < this.length; c++) {
+            letters[c] = (char) ('A' + ((this.packed >>> (BITS * c)) & MASK));
+        }
+        return new String(letters);
     }
 }